@@ -0,0 +1,88 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for parsing a file of newline-delimited durations with
+ * {@link com.adashrod.timeperiod.BulkTimePeriodParser} at different levels of parallelism, compared with a
+ * BufferedReader loop
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkTimePeriodParserBenchmark {
+    private static final int lineCount = 1000000;
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private final TimePeriodFormat format = TimePeriodFormat.ofPattern("hh:mm:ss.zzz");
+    private Path file;
+    private ForkJoinPool pool;
+    private BulkTimePeriodParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("durations", ".txt");
+        final Random random = new Random(42);
+        try (final BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            final StringBuilder line = new StringBuilder();
+            for (int i = 0; i < lineCount; i++) {
+                line.setLength(0);
+                format.formatMillisTo(random.nextInt(24 * 60 * 60 * 1000), line).append('\n');
+                writer.append(line);
+            }
+        }
+        pool = new ForkJoinPool(parallelism);
+        parser = new BulkTimePeriodParser(format, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public long[] bulkParse() throws IOException {
+        return parser.parse(file).getMilliseconds();
+    }
+
+    @Benchmark
+    public long bufferedReaderLoop() throws IOException, ParseException {
+        long sum = 0;
+        try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum += format.parse(line).toMillis();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,44 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to the first format and first parse in a fresh JVM, which includes class loading and static
+ * initialization. Each fork runs each benchmark exactly once, so every sample is a cold start, as in a short-lived CLI
+ * or serverless invocation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStartBenchmark {
+    @Benchmark
+    public String firstFormat() {
+        return new TimePeriodFormat("hh:mm:ss.zzz").format(new TimePeriod(0, 1, 13, 47, 32, 134));
+    }
+
+    @Benchmark
+    public TimePeriod firstParse() throws ParseException {
+        return new TimePeriodFormat("hh:mm:ss.zzz").parse("13:47:32.134");
+    }
+
+    @Benchmark
+    public TimePeriod firstParseAsWords() throws ParseException {
+        return TimePeriod.parseAsWords("13 hours 47 minutes 32 seconds");
+    }
+
+    @Benchmark
+    public TimePeriod firstOfPatternParse() throws ParseException {
+        return TimePeriodFormat.ofPattern("hh:mm:ss.zzz").parse("13:47:32.134");
+    }
+}
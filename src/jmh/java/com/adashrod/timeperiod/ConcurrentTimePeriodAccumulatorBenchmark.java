@@ -0,0 +1,43 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * contention benchmarks comparing {@link com.adashrod.timeperiod.ConcurrentTimePeriodAccumulator} to a shared
+ * TimePeriod guarded by synchronized. Every thread adds to the same total; vary the number of threads with -t, e.g.
+ * -t 1, -t 4, -t 16, to see how each scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentTimePeriodAccumulatorBenchmark {
+    private final ConcurrentTimePeriodAccumulator accumulator = new ConcurrentTimePeriodAccumulator();
+    private final TimePeriod synchronizedTotal = new TimePeriod();
+
+    @Benchmark
+    public void accumulator() {
+        accumulator.add(7, com.adashrod.timeperiod.TimeUnit.MILLISECOND);
+    }
+
+    @Benchmark
+    public void synchronizedTimePeriod() {
+        synchronized (synchronizedTotal) {
+            synchronizedTotal.addInPlace(7, com.adashrod.timeperiod.TimeUnit.MILLISECOND);
+        }
+    }
+}
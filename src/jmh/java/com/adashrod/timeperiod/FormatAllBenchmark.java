@@ -0,0 +1,66 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks comparing formatting a column of durations one String per row to
+ * {@link com.adashrod.timeperiod.TimePeriodFormat#formatAllMillis(long[], CharSequence, StringBuilder)} and its
+ * parallel version
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatAllBenchmark {
+    @Param({"1000000"})
+    public int rows;
+
+    private final TimePeriodFormat format = TimePeriodFormat.ofPattern("hh:mm:ss.zzz");
+    private long[] milliseconds;
+
+    @Setup
+    public void setUp() {
+        milliseconds = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            milliseconds[i] = i * 7919L;
+        }
+    }
+
+    @Benchmark
+    public StringBuilder perRow() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < milliseconds.length; i++) {
+            if (i > 0) {
+                stringBuilder.append('\n');
+            }
+            stringBuilder.append(format.formatMillis(milliseconds[i]));
+        }
+        return stringBuilder;
+    }
+
+    @Benchmark
+    public StringBuilder formatAll() {
+        return format.formatAllMillis(milliseconds, "\n", new StringBuilder());
+    }
+
+    @Benchmark
+    public Appendable formatAllParallel() throws IOException {
+        return format.formatAllMillisParallel(milliseconds, "\n", new StringBuilder(), ForkJoinPool.commonPool());
+    }
+}
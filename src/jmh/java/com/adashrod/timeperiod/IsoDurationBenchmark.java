@@ -0,0 +1,74 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for {@link com.adashrod.timeperiod.IsoDuration}, compared with {@link java.time.Duration}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IsoDurationBenchmark {
+    @Param({"PT1H30M15.250S", "P2DT3H4M5S"})
+    public String text;
+
+    private TimePeriod timePeriod;
+    private Duration duration;
+    private StringBuilder stringBuilder;
+    private final ParseResult parseResult = new ParseResult();
+
+    @Setup
+    public void setUp() throws ParseException {
+        timePeriod = IsoDuration.parse(text);
+        duration = Duration.parse(text);
+        stringBuilder = new StringBuilder(32);
+    }
+
+    @Benchmark
+    public TimePeriod parse() throws ParseException {
+        return IsoDuration.parse(text);
+    }
+
+    @Benchmark
+    public boolean tryParse() {
+        return IsoDuration.tryParse(text, parseResult);
+    }
+
+    @Benchmark
+    public Duration durationParse() {
+        return Duration.parse(text);
+    }
+
+    @Benchmark
+    public String format() {
+        return IsoDuration.format(timePeriod);
+    }
+
+    @Benchmark
+    public StringBuilder formatToReused() {
+        stringBuilder.setLength(0);
+        return IsoDuration.formatTo(timePeriod, stringBuilder);
+    }
+
+    @Benchmark
+    public String durationToString() {
+        return duration.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for bulk operations on {@link com.adashrod.timeperiod.TimePeriodArray}, compared with the same operations
+ * on individual {@link com.adashrod.timeperiod.TimePeriod}s
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePeriodArrayBenchmark {
+    private static final int size = 100000;
+
+    private TimePeriodArray array;
+    private TimePeriod[] timePeriods;
+    private long[] column;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        array = new TimePeriodArray(size);
+        timePeriods = new TimePeriod[size];
+        for (int i = 0; i < size; i++) {
+            final long milliseconds = (long) (random.nextDouble() * 3 * 24 * 60 * 60 * 1000);
+            array.add(milliseconds);
+            timePeriods[i] = new TimePeriod(milliseconds, com.adashrod.timeperiod.TimeUnit.MILLISECOND);
+        }
+        column = new long[size];
+    }
+
+    @Benchmark
+    public long sumArray() {
+        return array.sumMillis();
+    }
+
+    @Benchmark
+    public long sumObjects() {
+        long sum = 0;
+        for (final TimePeriod timePeriod: timePeriods) {
+            sum = Math.addExact(sum, timePeriod.toMillis());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long maxArray() {
+        return array.max().toMillis();
+    }
+
+    @Benchmark
+    public long[] normalizeHoursArray() {
+        return array.normalize(com.adashrod.timeperiod.TimeUnit.HOUR, column);
+    }
+
+    @Benchmark
+    public long[] denormalizeHoursArray() {
+        return array.denormalize(com.adashrod.timeperiod.TimeUnit.HOUR, column);
+    }
+}
@@ -0,0 +1,70 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for parsing and converting {@link com.adashrod.timeperiod.TimePeriod}s
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePeriodBenchmark {
+    @Param({"36 hours", "2 weeks"})
+    public String words;
+
+    private TimePeriod timePeriod;
+    private final UnitQuantity unitQuantity = new UnitQuantity();
+    private final TimePeriod step = new TimePeriod(0, 0, 0, 0, 1, 500);
+    private final TimePeriod accumulator = new TimePeriod();
+
+    @Setup
+    public void setUp() {
+        timePeriod = new TimePeriod(2, 3, 5, 0, 0, 0);
+    }
+
+    @Benchmark
+    public TimePeriod parseAsWords() throws ParseException {
+        return TimePeriod.parseAsWords(words);
+    }
+
+    @Benchmark
+    public UnitQuantity getLargestUnit() {
+        return timePeriod.getLargestUnit(com.adashrod.timeperiod.TimeUnit.DAY);
+    }
+
+    @Benchmark
+    public UnitQuantity getLargestUnitReused() {
+        return timePeriod.getLargestUnit(com.adashrod.timeperiod.TimeUnit.DAY, unitQuantity);
+    }
+
+    @Benchmark
+    public TimePeriod denormalizeAndNormalize() {
+        return timePeriod.denormalize(com.adashrod.timeperiod.TimeUnit.MINUTE).normalize();
+    }
+
+    @Benchmark
+    public TimePeriod plus() {
+        return timePeriod.plus(step);
+    }
+
+    @Benchmark
+    public TimePeriod addInPlace() {
+        return accumulator.clear().addInPlace(timePeriod).addInPlace(step);
+    }
+}
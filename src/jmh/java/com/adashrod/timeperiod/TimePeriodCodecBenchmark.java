@@ -0,0 +1,61 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks comparing {@link com.adashrod.timeperiod.TimePeriodCodec} to a text round trip through
+ * {@link com.adashrod.timeperiod.TimePeriodFormat}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePeriodCodecBenchmark {
+    private final TimePeriodFormat format = TimePeriodFormat.ofPattern("d:hh:mm:ss.zzz",
+        com.adashrod.timeperiod.TimeUnit.DAY);
+    private final ByteBuffer buffer = ByteBuffer.allocate(TimePeriodCodec.maxEncodedLength);
+    private TimePeriod timePeriod;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        timePeriod = new TimePeriod(2, 3, 4, 5, 6, 7);
+        text = format.format(timePeriod);
+    }
+
+    @Benchmark
+    public TimePeriod binaryRoundTrip() {
+        buffer.clear();
+        TimePeriodCodec.encode(timePeriod, buffer);
+        buffer.flip();
+        return TimePeriodCodec.decode(buffer);
+    }
+
+    @Benchmark
+    public long binaryRoundTripMillis() {
+        buffer.clear();
+        TimePeriodCodec.encode(timePeriod, buffer);
+        buffer.flip();
+        return TimePeriodCodec.decodeMillis(buffer);
+    }
+
+    @Benchmark
+    public TimePeriod textRoundTrip() throws ParseException {
+        return format.parse(format.format(timePeriod));
+    }
+}
@@ -0,0 +1,96 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for formatting and parsing with {@link com.adashrod.timeperiod.TimePeriodFormat}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePeriodFormatBenchmark {
+    @Param({"hh:mm:ss.zzz", "h HH, m MM, s SS"})
+    public String pattern;
+
+    /**
+     * the name of a {@link com.adashrod.timeperiod.TimeUnit} to pass to setMaxUnit, or NONE
+     */
+    @Param({"NONE", "HOUR"})
+    public String maxUnit;
+
+    private TimePeriodFormat format;
+    private TimePeriod timePeriod;
+    private String formatted;
+    private StringBuilder stringBuilder;
+    private String invalid;
+    private final ParseResult parseResult = new ParseResult();
+
+    @Setup
+    public void setUp() {
+        format = new TimePeriodFormat(pattern);
+        if (!"NONE".equals(maxUnit)) {
+            format.setMaxUnit(com.adashrod.timeperiod.TimeUnit.valueOf(maxUnit));
+        }
+        timePeriod = new TimePeriod(0, 1, 13, 47, 32, 134);
+        formatted = format.format(timePeriod);
+        stringBuilder = new StringBuilder(64);
+        invalid = formatted.substring(0, formatted.length() - 1) + "x";
+    }
+
+    @Benchmark
+    public String format() {
+        return format.format(timePeriod);
+    }
+
+    @Benchmark
+    public StringBuilder formatTo() {
+        stringBuilder.setLength(0);
+        return format.formatTo(timePeriod, stringBuilder);
+    }
+
+    @Benchmark
+    public TimePeriodFormat ofPattern() {
+        return TimePeriodFormat.ofPattern(pattern, format.getMaxUnit());
+    }
+
+    @Benchmark
+    public TimePeriod parse() throws ParseException {
+        return format.parse(formatted);
+    }
+
+    @Benchmark
+    public boolean tryParse() {
+        return format.tryParse(formatted, parseResult);
+    }
+
+    @Benchmark
+    public ParseException parseInvalid() {
+        try {
+            format.parse(invalid);
+            return null;
+        } catch (final ParseException pe) {
+            return pe;
+        }
+    }
+
+    @Benchmark
+    public boolean tryParseInvalid() {
+        return format.tryParse(invalid, parseResult);
+    }
+}
@@ -0,0 +1,76 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for parsing input that may be in any of several formats, using a
+ * {@link com.adashrod.timeperiod.TimePeriodFormatSet} vs. trying each {@link com.adashrod.timeperiod.TimePeriodFormat}
+ * in turn. The input matches the last format, which is the worst case for trying them in turn.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePeriodFormatSetBenchmark {
+    @Param({"2", "8", "32"})
+    public int formatCount;
+
+    private TimePeriodFormat[] formats;
+    private TimePeriodFormatSet formatSet;
+    private String input;
+    private final ParseResult parseResult = new ParseResult();
+
+    @Setup
+    public void setUp() {
+        formats = new TimePeriodFormat[formatCount];
+        for (int i = 0; i < formatCount; i++) {
+            // each format has a different separator after the hours
+            formats[i] = new TimePeriodFormat("hh'" + (char) ('A' + i) + "'mm:ss").freeze();
+        }
+        formatSet = new TimePeriodFormatSet(formats);
+        input = "13" + (char) ('A' + formatCount - 1) + "47:32";
+    }
+
+    @Benchmark
+    public int formatSetTryParse() {
+        return formatSet.tryParse(input, parseResult);
+    }
+
+    @Benchmark
+    public int eachFormatTryParse() {
+        for (int i = 0; i < formats.length; i++) {
+            if (formats[i].tryParse(input, parseResult)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int eachFormatParse() {
+        for (int i = 0; i < formats.length; i++) {
+            try {
+                formats[i].parse(input);
+                return i;
+            } catch (final ParseException pe) {
+                // try the next one
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for {@link com.adashrod.timeperiod.TimePeriodHistogram}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimePeriodHistogramBenchmark {
+    private final TimePeriodHistogram histogram =
+        new TimePeriodHistogram(com.adashrod.timeperiod.TimeUnit.MILLISECOND, 7);
+    private long value;
+
+    @Setup
+    public void setUp() {
+        for (long i = 0; i < 100000; i++) {
+            histogram.record(i);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(value++ & 0xfffff);
+    }
+
+    @Benchmark
+    public long getValueAtPercentile() {
+        return histogram.getValueAtPercentile(99.9);
+    }
+}
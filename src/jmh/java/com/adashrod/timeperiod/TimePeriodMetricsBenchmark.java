@@ -0,0 +1,65 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParsePosition;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for the overhead of {@link com.adashrod.timeperiod.TimePeriodMetrics}: "none" is the default disabled
+ * path, "counting" registers a listener that does nothing and times 1 in 1000 calls, and "timing" times every call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimePeriodMetricsBenchmark {
+    @Param({"none", "counting", "timing"})
+    public String listener;
+
+    private final TimePeriodFormat format = TimePeriodFormat.ofPattern("hh:mm:ss.zzz");
+    private final StringBuilder stringBuilder = new StringBuilder(16);
+    private final TimePeriod timePeriod = new TimePeriod(0, 0, 10, 20, 30, 400);
+    private final ParsePosition position = new ParsePosition(0);
+    private final String text = "10:20:30.400";
+
+    @Setup
+    public void setUp() {
+        final TimePeriodMetrics.Listener noop = new TimePeriodMetrics.Listener() {};
+        if ("counting".equals(listener)) {
+            TimePeriodMetrics.setListener(noop, 1000);
+        } else if ("timing".equals(listener)) {
+            TimePeriodMetrics.setListener(noop, 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        TimePeriodMetrics.setListener(null);
+    }
+
+    @Benchmark
+    public StringBuilder formatTo() {
+        stringBuilder.setLength(0);
+        return format.formatTo(timePeriod, stringBuilder);
+    }
+
+    @Benchmark
+    public TimePeriod parse() {
+        position.setIndex(0);
+        return format.parse(text, position);
+    }
+}
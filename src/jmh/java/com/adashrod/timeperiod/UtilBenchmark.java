@@ -0,0 +1,40 @@
+package com.adashrod.timeperiod;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks for {@link com.adashrod.timeperiod.Util}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UtilBenchmark {
+    public long number = 7;
+    private final StringBuilder stringBuilder = new StringBuilder(16);
+
+    @Benchmark
+    public String padWithZeroes() {
+        return Util.padWithZeroes(number, 3);
+    }
+
+    @Benchmark
+    public StringBuilder appendPaddedNumber() throws IOException {
+        stringBuilder.setLength(0);
+        Util.appendPaddedNumber(stringBuilder, number, 3);
+        return stringBuilder;
+    }
+}
@@ -0,0 +1,344 @@
+package com.adashrod.timeperiod;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses files of newline-delimited periods of time in parallel. The file is memory-mapped with
+ * {@link java.nio.channels.FileChannel#map(FileChannel.MapMode, long, long)} and split into chunks that start and end on
+ * line boundaries, and the chunks are parsed concurrently on a ForkJoinPool. Lines are parsed in place with a
+ * {@link com.adashrod.timeperiod.TimePeriodFormat}, so no Strings are created per line. Lines that fail to parse are
+ * collected as {@link com.adashrod.timeperiod.BulkTimePeriodParser.LineError}s instead of aborting the run.
+ *
+ * Files are decoded as ISO-8859-1, which covers US-ASCII; "\n" and "\r\n" line endings are both accepted.
+ * The format must not be modified with {@link com.adashrod.timeperiod.TimePeriodFormat#setMaxUnit(TimeUnit)} while a
+ * parse is running; a frozen format avoids that concern.
+ */
+public class BulkTimePeriodParser {
+    /**
+     * the smallest chunk that is worth handing to another thread
+     */
+    private static final int minChunkSize = 64 * 1024;
+
+    private final TimePeriodFormat format;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Creates a parser that runs on the common ForkJoinPool
+     * @param format the format of every line
+     */
+    public BulkTimePeriodParser(final TimePeriodFormat format) {
+        this(format, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param format the format of every line
+     * @param pool the pool to parse chunks on
+     */
+    public BulkTimePeriodParser(final TimePeriodFormat format, final ForkJoinPool pool) {
+        this(format, pool, 0);
+    }
+
+    /**
+     * @param format the format of every line
+     * @param pool the pool to parse chunks on
+     * @param chunkSize the approximate number of bytes per chunk, or 0 to pick one based on the file size and the
+     *                  pool's parallelism
+     */
+    BulkTimePeriodParser(final TimePeriodFormat format, final ForkJoinPool pool, final int chunkSize) {
+        this.format = format;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Receives the lines of a file as they're parsed. Calls are made concurrently from the pool's threads and not in
+     * line order, so implementations must be thread-safe.
+     */
+    public interface LineHandler {
+        /**
+         * @param lineNumber the 1-based line number
+         * @param milliseconds the length of the period on that line
+         */
+        void accept(long lineNumber, long milliseconds);
+    }
+
+    /**
+     * Parses every line of file into an array of milliseconds indexed by line number - 1
+     * @param file a file of newline-delimited periods of time
+     * @return the parsed values and any errors
+     * @throws IOException if the file can't be read
+     * @throws IllegalStateException if the file has more lines than fit in an array
+     */
+    public Result parse(final Path file) throws IOException {
+        final List<Chunk> chunks = split(file);
+        long lineCount = 0;
+        for (final Chunk chunk: chunks) {
+            lineCount += chunk.lineCount;
+        }
+        if (lineCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(String.format("Too many lines to fit in an array: %d", lineCount));
+        }
+        final long[] milliseconds = new long[(int) lineCount];
+        final List<LineError> errors = parseChunks(chunks, (final long lineNumber, final long value) ->
+            milliseconds[(int) (lineNumber - 1)] = value);
+        return new Result(milliseconds, errors);
+    }
+
+    /**
+     * Parses every line of file, passing each successfully parsed line to handler
+     * @param file a file of newline-delimited periods of time
+     * @param handler receives the value of every line that parsed successfully
+     * @return the lines that failed to parse, in line order
+     * @throws IOException if the file can't be read
+     */
+    public List<LineError> parse(final Path file, final LineHandler handler) throws IOException {
+        return parseChunks(split(file), handler);
+    }
+
+    /**
+     * Maps file and splits it into line-aligned chunks, counting the lines in each chunk in parallel so that every
+     * chunk knows the line number that it starts on
+     */
+    private List<Chunk> split(final Path file) throws IOException {
+        final List<Chunk> chunks = new ArrayList<>();
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final long targetChunkSize = chunkSize > 0 ? chunkSize :
+                Math.max(minChunkSize, fileSize / (pool.getParallelism() * 8L));
+            long regionStart = 0;
+            while (regionStart < fileSize) {
+                // a single mapping can be at most Integer.MAX_VALUE bytes, so large files are mapped in several regions
+                final long windowSize = Math.min(Integer.MAX_VALUE, fileSize - regionStart);
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, windowSize);
+                int regionSize = (int) windowSize;
+                if (regionStart + windowSize < fileSize) {
+                    // end the region after its last newline so that no line is split between two mappings
+                    while (regionSize > 0 && buffer.get(regionSize - 1) != '\n') {
+                        regionSize--;
+                    }
+                    if (regionSize == 0) {
+                        throw new IOException(String.format("Line starting at byte %d is too long", regionStart));
+                    }
+                }
+                int start = 0;
+                while (start < regionSize) {
+                    int end = (int) Math.min(regionSize, start + targetChunkSize);
+                    while (end < regionSize && buffer.get(end - 1) != '\n') {
+                        end++;
+                    }
+                    chunks.add(new Chunk(buffer, start, end));
+                    start = end;
+                }
+                regionStart += regionSize;
+            }
+        }
+        runAll(chunks, Chunk::countLines);
+        long firstLineNumber = 1;
+        for (final Chunk chunk: chunks) {
+            chunk.firstLineNumber = firstLineNumber;
+            firstLineNumber += chunk.lineCount;
+        }
+        return chunks;
+    }
+
+    private List<LineError> parseChunks(final List<Chunk> chunks, final LineHandler handler) {
+        runAll(chunks, (final Chunk chunk) -> chunk.parse(format, handler));
+        final List<LineError> errors = new ArrayList<>();
+        for (final Chunk chunk: chunks) {
+            errors.addAll(chunk.errors);
+        }
+        return errors;
+    }
+
+    private void runAll(final List<Chunk> chunks, final ChunkAction action) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.size());
+        for (final Chunk chunk: chunks) {
+            tasks.add(ForkJoinTask.adapt(() -> action.run(chunk)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    private interface ChunkAction {
+        void run(Chunk chunk);
+    }
+
+    /**
+     * A range of a mapped region that starts at the beginning of a line and ends after a newline or at the end of the
+     * file
+     */
+    private static class Chunk {
+        private final MappedByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private long lineCount;
+        private long firstLineNumber;
+        private final List<LineError> errors = new ArrayList<>();
+
+        Chunk(final MappedByteBuffer buffer, final int start, final int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        void countLines() {
+            long count = 0;
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) == '\n') {
+                    count++;
+                }
+            }
+            // a last line without a trailing newline
+            if (end > start && buffer.get(end - 1) != '\n') {
+                count++;
+            }
+            lineCount = count;
+        }
+
+        void parse(final TimePeriodFormat format, final LineHandler handler) {
+            final ByteSequence line = new ByteSequence(buffer);
+            final ParsePosition position = new ParsePosition(0);
+            final TimePeriod timePeriod = new TimePeriod();
+            long lineNumber = firstLineNumber;
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                final int nextLineStart = lineEnd + 1;
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                line.reset(lineStart, lineEnd);
+                position.setIndex(0);
+                position.setErrorIndex(-1);
+                final ParseError error = format.parseInto(line, position, timePeriod.clear(), true);
+                if (error != null) {
+                    errors.add(new LineError(lineNumber, position.getErrorIndex(), error.getMessage()));
+                } else {
+                    final long milliseconds = toMillis(timePeriod);
+                    if (milliseconds < 0) {
+                        errors.add(new LineError(lineNumber, firstDigitIndex(line),
+                            ParseError.NUMERIC_TOKEN_TOO_LARGE.getMessage()));
+                    } else {
+                        handler.accept(lineNumber, milliseconds);
+                    }
+                }
+                lineStart = nextLineStart;
+                lineNumber++;
+            }
+        }
+
+        /**
+         * @return the index of the first digit in line, where the value of a period that's too long starts, or 0 if
+         * there are no digits
+         */
+        private static int firstDigitIndex(final CharSequence line) {
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the length of timePeriod in milliseconds, or -1 if it doesn't fit in a long
+         */
+        private static long toMillis(final TimePeriod timePeriod) {
+            try {
+                return timePeriod.toMillis();
+            } catch (final ArithmeticException ae) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * The values of every line of a file. Lines that failed to parse have a value of -1 and a corresponding
+     * {@link com.adashrod.timeperiod.BulkTimePeriodParser.LineError}.
+     */
+    public static class Result {
+        private final long[] milliseconds;
+        private final List<LineError> errors;
+
+        Result(final long[] milliseconds, final List<LineError> errors) {
+            this.milliseconds = milliseconds;
+            this.errors = Collections.unmodifiableList(errors);
+            for (final LineError error: errors) {
+                milliseconds[(int) (error.getLineNumber() - 1)] = -1;
+            }
+        }
+
+        /**
+         * @return the value of every line in milliseconds, indexed by line number - 1; -1 for lines with errors
+         */
+        public long[] getMilliseconds() {
+            return milliseconds;
+        }
+
+        /**
+         * @return the value of every line, as a TimePeriodArray, leaving out lines with errors
+         */
+        public TimePeriodArray toTimePeriodArray() {
+            return new TimePeriodArray(Arrays.stream(milliseconds).filter((final long value) -> value >= 0).toArray());
+        }
+
+        /**
+         * @return the lines that failed to parse, in line order
+         */
+        public List<LineError> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Describes a line that couldn't be parsed
+     */
+    public static class LineError {
+        private final long lineNumber;
+        private final int errorOffset;
+        private final String message;
+
+        LineError(final long lineNumber, final int errorOffset, final String message) {
+            this.lineNumber = lineNumber;
+            this.errorOffset = errorOffset;
+            this.message = message;
+        }
+
+        /**
+         * @return the 1-based line number
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * @return the index within the line where the error was found
+         */
+        public int getErrorOffset() {
+            return errorOffset;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("line %d, offset %d: %s", lineNumber, errorOffset, message);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.adashrod.timeperiod;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable CharSequence view of a range of bytes in a ByteBuffer, decoding each byte as ISO-8859-1 (which includes
+ * US-ASCII). This lets the parsers read directly out of a memory-mapped file without copying or decoding lines into
+ * Strings.
+ */
+class ByteSequence implements CharSequence {
+    private final ByteBuffer buffer;
+    private int start;
+    private int length;
+
+    ByteSequence(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Points this view at a new range of the buffer
+     * @param start index in the buffer of the first byte, inclusive
+     * @param end index in the buffer of the last byte, exclusive
+     * @return this
+     */
+    ByteSequence reset(final int start, final int end) {
+        this.start = start;
+        this.length = end - start;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Length: %d", index, length));
+        }
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int startIndex, final int endIndex) {
+        return toString().subSequence(startIndex, endIndex);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            stringBuilder.append(charAt(i));
+        }
+        return stringBuilder.toString();
+    }
+}
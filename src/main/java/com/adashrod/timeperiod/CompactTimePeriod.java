@@ -0,0 +1,131 @@
+package com.adashrod.timeperiod;
+
+/**
+ * A CompactTimePeriod is an immutable period of time stored as a single canonical count of milliseconds. The number of
+ * weeks, days, hours, minutes, seconds, and milliseconds are derived on demand with integer math, so an instance only
+ * takes up an object header and one long, which is a fraction of the size of a {@link com.adashrod.timeperiod.TimePeriod}.
+ * Since instances can't be modified, they can be cached and shared between threads without copying.
+ * CompactTimePeriods can be formatted directly by {@link com.adashrod.timeperiod.TimePeriodFormat}.
+ */
+public final class CompactTimePeriod implements Comparable<CompactTimePeriod> {
+    public static final CompactTimePeriod ZERO = new CompactTimePeriod(0);
+    /**
+     * cached copy of TimeUnit.values(), which makes a new array each time it's called
+     */
+    private static final TimeUnit[] timeUnits = TimeUnit.values();
+
+    private final long milliseconds;
+
+    private CompactTimePeriod(final long milliseconds) {
+        this.milliseconds = milliseconds;
+    }
+
+    /**
+     * @param milliseconds the length of the period
+     * @return a CompactTimePeriod that is milliseconds long
+     * @throws IllegalArgumentException if milliseconds is negative
+     */
+    public static CompactTimePeriod ofMillis(final long milliseconds) {
+        if (milliseconds < 0) {
+            throw new IllegalArgumentException(String.format("A time period can't be negative: %d", milliseconds));
+        }
+        return milliseconds == 0 ? ZERO : new CompactTimePeriod(milliseconds);
+    }
+
+    /**
+     * @param number how many units
+     * @param timeUnit what type of units
+     * @return a CompactTimePeriod of number timeUnits
+     * @throws IllegalArgumentException if number is negative
+     * @throws ArithmeticException if the period is too long to be represented in milliseconds in a long
+     */
+    public static CompactTimePeriod of(final long number, final TimeUnit timeUnit) {
+        return ofMillis(Math.multiplyExact(number, timeUnit.getMillisecondsPerUnit()));
+    }
+
+    /**
+     * @param timePeriod a TimePeriod to convert
+     * @return a CompactTimePeriod of the same length as timePeriod
+     * @throws IllegalArgumentException if timePeriod is negative
+     * @throws ArithmeticException if timePeriod is too long to be represented in milliseconds in a long
+     */
+    public static CompactTimePeriod from(final TimePeriod timePeriod) {
+        return ofMillis(timePeriod.toMillis());
+    }
+
+    /**
+     * @return a new mutable TimePeriod of the same length as this
+     */
+    public TimePeriod toTimePeriod() {
+        return new TimePeriod(getWeeks(), getDays(), getHours(), getMinutes(), getSeconds(), getMilliseconds());
+    }
+
+    /**
+     * @return the total length of this period in milliseconds
+     */
+    public long toMillis() {
+        return milliseconds;
+    }
+
+    public long getWeeks() {
+        return getDenormalized(milliseconds, TimeUnit.WEEK, null);
+    }
+    public long getDays() {
+        return getDenormalized(milliseconds, TimeUnit.DAY, null);
+    }
+    public long getHours() {
+        return getDenormalized(milliseconds, TimeUnit.HOUR, null);
+    }
+    public long getMinutes() {
+        return getDenormalized(milliseconds, TimeUnit.MINUTE, null);
+    }
+    public long getSeconds() {
+        return getDenormalized(milliseconds, TimeUnit.SECOND, null);
+    }
+    public long getMilliseconds() {
+        return getDenormalized(milliseconds, TimeUnit.MILLISECOND, null);
+    }
+
+    /**
+     * Returns the value of one unit of a period of milliseconds as if it were de-normalized to largestAllowed. Units
+     * greater than largestAllowed are 0, largestAllowed holds the value of itself and all greater units, and smaller
+     * units hold their normalized values.
+     * @param milliseconds the length of the period
+     * @param timeUnit the unit to get the value of
+     * @param largestAllowed the largest TimeUnit that isn't zeroed out, or null for fully normalized values
+     * @return the value of timeUnit
+     */
+    static long getDenormalized(final long milliseconds, final TimeUnit timeUnit, final TimeUnit largestAllowed) {
+        final TimeUnit largest = largestAllowed == null ? TimeUnit.WEEK : largestAllowed;
+        if (timeUnit.ordinal() > largest.ordinal()) {
+            return 0;
+        }
+        final long value = milliseconds / timeUnit.getMillisecondsPerUnit();
+        if (timeUnit == largest) {
+            return value;
+        }
+        final TimeUnit next = timeUnits[timeUnit.ordinal() + 1];
+        return value % (next.getMillisecondsPerUnit() / timeUnit.getMillisecondsPerUnit());
+    }
+
+    @Override
+    public int compareTo(final CompactTimePeriod other) {
+        return Long.compare(milliseconds, other.milliseconds);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof CompactTimePeriod && ((CompactTimePeriod) other).milliseconds == milliseconds;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(milliseconds);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d week(s), %d day(s), %d hour(s), %d minute(s), %d second(s), %d millisecond(s)",
+            getWeeks(), getDays(), getHours(), getMinutes(), getSeconds(), getMilliseconds());
+    }
+}
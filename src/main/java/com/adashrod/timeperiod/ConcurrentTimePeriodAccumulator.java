@@ -0,0 +1,128 @@
+package com.adashrod.timeperiod;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running total of time that many threads can add to at once without locking, e.g. busy time per tenant summed by
+ * every worker thread. The total is kept in milliseconds in a {@link java.util.concurrent.atomic.LongAdder}, which
+ * spreads contended updates over separate cells, so adding scales with the number of threads where a synchronized
+ * {@link com.adashrod.timeperiod.TimePeriod} would serialize them.
+ * As with LongAdder, reading the total isn't an atomic snapshot: adds that happen concurrently with
+ * {@link com.adashrod.timeperiod.ConcurrentTimePeriodAccumulator#snapshot()} might or might not be included. The total
+ * must fit in a long of milliseconds (about 292 million years).
+ * Overflow is detected the same way as in {@link com.adashrod.timeperiod.TimePeriodArray#sumMillis()}: the high and low
+ * 32 bits of each amount are summed separately, so a total that doesn't fit in a long is always reported, rather than
+ * wrapping around, as long as there are fewer than 2^31 adds between resets.
+ */
+public class ConcurrentTimePeriodAccumulator {
+    /**
+     * the sums of the high and low 32 bits of every amount added; amounts shorter than 2^32 milliseconds (about 49 days)
+     * only touch low
+     */
+    private final LongAdder high = new LongAdder();
+    private final LongAdder low = new LongAdder();
+
+    /**
+     * Adds an amount of time
+     * @param amount how many units to add
+     * @param timeUnit which unit
+     * @throws IllegalArgumentException if amount is negative
+     * @throws ArithmeticException if the amount is too long to be represented in milliseconds in a long
+     */
+    public void add(final long amount, final TimeUnit timeUnit) {
+        if (amount < 0) {
+            throw new IllegalArgumentException(String.format("Negative amount: %d", amount));
+        }
+        addMillis(Math.multiplyExact(amount, timeUnit.getMillisecondsPerUnit()));
+    }
+
+    /**
+     * Adds a period of time
+     * @param timePeriod the period to add
+     * @throws ArithmeticException if timePeriod is too long to be represented in milliseconds in a long
+     */
+    public void add(final TimePeriod timePeriod) {
+        addMillis(timePeriod.toMillis());
+    }
+
+    private void addMillis(final long milliseconds) {
+        if (milliseconds >>> 32 != 0) {
+            high.add(milliseconds >>> 32);
+        }
+        low.add(milliseconds & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the current total in milliseconds
+     * @throws ArithmeticException if the total has overflowed
+     */
+    public long sumMillis() {
+        return combine(high.sum(), low.sum());
+    }
+
+    /**
+     * @return the current total as a normalized TimePeriod
+     * @throws ArithmeticException if the total has overflowed
+     */
+    public TimePeriod snapshot() {
+        return new TimePeriod(sumMillis(), TimeUnit.MILLISECOND);
+    }
+
+    /**
+     * Returns the current total and resets it to 0. Adds that happen concurrently might be counted in neither the
+     * returned total nor the next one, so this is best used when updates are quiescent, or when approximate
+     * per-interval totals are acceptable.
+     * @return the total as a normalized TimePeriod
+     * @throws ArithmeticException if the total has overflowed, in which case it isn't reset
+     */
+    public TimePeriod sumThenReset() {
+        final long highSum = high.sumThenReset();
+        final long lowSum = low.sumThenReset();
+        try {
+            return new TimePeriod(combine(highSum, lowSum), TimeUnit.MILLISECOND);
+        } catch (final ArithmeticException ae) {
+            // put the total back so that it keeps reporting the overflow instead of silently starting over
+            high.add(highSum);
+            low.add(lowSum);
+            throw ae;
+        }
+    }
+
+    /**
+     * Resets the total to 0
+     */
+    public void reset() {
+        high.reset();
+        low.reset();
+    }
+
+    /**
+     * @return the total in milliseconds of the sums of the high and low halves
+     * @throws ArithmeticException if the total doesn't fit in a long
+     */
+    private static long combine(final long highSum, final long lowSum) {
+        if (highSum < 0 || lowSum < 0) {
+            throw new ArithmeticException("Total time overflowed");
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(highSum, 1L << 32), lowSum);
+        } catch (final ArithmeticException ae) {
+            throw new ArithmeticException("Total time overflowed");
+        }
+    }
+
+    /**
+     * Unlike {@link com.adashrod.timeperiod.ConcurrentTimePeriodAccumulator#snapshot()}, this doesn't throw once the
+     * total has overflowed, so that it's still safe to log; the raw sums of the high and low halves are shown instead.
+     */
+    @Override
+    public String toString() {
+        final long highSum = high.sum();
+        final long lowSum = low.sum();
+        try {
+            return new TimePeriod(combine(highSum, lowSum), TimeUnit.MILLISECOND).toString();
+        } catch (final ArithmeticException ae) {
+            return String.format("overflowed (high=%d, low=%d)", highSum, lowSum);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.adashrod.timeperiod;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, concurrent cache of frozen {@link com.adashrod.timeperiod.TimePeriodFormat}s keyed by pattern and max unit.
+ * There is one map per possible max unit, keyed by the pattern string itself, so a cache hit is one array index and one
+ * hash lookup with no key object allocated. When the cache is full, an entry is evicted with the clock algorithm: a hit
+ * sets a flag on the entry if it isn't already set, and eviction scans from a random entry, clearing the flags it finds
+ * set and removing the first entry whose flag was already clear. This isn't LRU, but patterns that keep being hit
+ * survive churn from one-off patterns, and hits write nothing besides the hit counter once their flag is set. The entry
+ * that was just inserted is never the one evicted.
+ */
+class FormatCache {
+    private final int capacity;
+    /**
+     * index 0 holds formats with no max unit; index n holds formats with a max unit whose ordinal is n - 1
+     */
+    private final ConcurrentHashMap<String, Entry>[] maps;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity the max number of formats to keep
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    FormatCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Cache capacity must be positive: %d", capacity));
+        }
+        this.capacity = capacity;
+        maps = new ConcurrentHashMap[TimeUnit.values().length + 1];
+        for (int i = 0; i < maps.length; i++) {
+            maps[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the cached format for pattern and maxUnit, compiling and caching it if necessary
+     * @param pattern a format pattern, see {@link com.adashrod.timeperiod.TimePeriodFormat}
+     * @param maxUnit the max unit of the format, or null
+     * @return a frozen format
+     */
+    TimePeriodFormat get(final String pattern, final TimeUnit maxUnit) {
+        final ConcurrentHashMap<String, Entry> map = maps[maxUnit == null ? 0 : maxUnit.ordinal() + 1];
+        final Entry cached = map.get(pattern);
+        if (cached != null) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            hits.increment();
+            return cached.format;
+        }
+        misses.increment();
+        final Entry entry = new Entry(new TimePeriodFormat(pattern).setMaxUnit(maxUnit).freeze());
+        final Entry existing = map.putIfAbsent(pattern, entry);
+        if (existing != null) {
+            // another thread compiled the same pattern first
+            return existing.format;
+        }
+        size.incrementAndGet();
+        // an entry that another thread has inserted but not yet counted can be evicted before it's counted, so keep
+        // going until the count is back within capacity
+        while (size.get() > capacity && evict(map, pattern)) {
+            // evicted one
+        }
+        return entry.format;
+    }
+
+    /**
+     * Removes one entry other than the one just inserted. The scan starts at a random map and a random number of
+     * entries in, so that no part of the hash table is always the victim, and goes around the maps up to three times:
+     * the first time can be spent skipping, and the second might only clear flags.
+     * @param insertedMap the map that the entry just inserted is in
+     * @param insertedPattern the pattern of the entry just inserted
+     * @return true if an entry was removed, or false if there was nothing to remove
+     */
+    private boolean evict(final ConcurrentHashMap<String, Entry> insertedMap, final String insertedPattern) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int firstMap = random.nextInt(maps.length);
+        int toSkip = random.nextInt(Math.max(1, size.get()));
+        for (int i = 0; i < 3 * maps.length; i++) {
+            final ConcurrentHashMap<String, Entry> map = maps[(firstMap + i) % maps.length];
+            for (final Map.Entry<String, Entry> mapEntry: map.entrySet()) {
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                final Entry entry = mapEntry.getValue();
+                if (map == insertedMap && mapEntry.getKey().equals(insertedPattern)) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    // give it a second chance
+                    entry.referenced = false;
+                } else if (map.remove(mapEntry.getKey(), entry)) {
+                    size.decrementAndGet();
+                    evictions.increment();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    TimePeriodFormat.CacheStatistics getStatistics() {
+        return new TimePeriodFormat.CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size.get(), capacity);
+    }
+
+    /**
+     * A cached format and whether it has been hit since eviction last looked at it. The flag is read and written
+     * without synchronization; a lost update only changes which entry is evicted.
+     */
+    private static final class Entry {
+        private final TimePeriodFormat format;
+        private boolean referenced;
+
+        private Entry(final TimePeriodFormat format) {
+            this.format = format;
+        }
+    }
+}
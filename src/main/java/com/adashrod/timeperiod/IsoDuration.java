@@ -0,0 +1,285 @@
+package com.adashrod.timeperiod;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.text.ParsePosition;
+
+/**
+ * Parses and formats {@link com.adashrod.timeperiod.TimePeriod}s as ISO-8601 durations, e.g. "P2W", "P1DT12H", and
+ * "PT1H30M15.25S".
+ *
+ * The accepted form is "P[nW][nD][T[nH][nM][n[.f]S]]": the designators have to be in that order, each one at most
+ * once, and there has to be at least one of them, with at least one after a "T". Letters may be upper or lower case.
+ * Only seconds may have a fraction, written after a '.' or ','; it may have up to 9 digits, and anything smaller than a
+ * millisecond is truncated. Years ("Y") and months ("M" before the "T") have no fixed length, so they're rejected, as
+ * are negative durations.
+ *
+ * Formatting writes the normalized fields, with weeks folded into days unless weeks are the only unit, e.g. 9 days is
+ * "P9D" and 14 days is "P2W". Fractions of seconds are written with trailing zeros removed, and zero is "PT0S", the
+ * same as {@link java.time.Duration#toString()}. The TimePeriod being formatted is never modified, even if it isn't
+ * normalized.
+ *
+ * Both directions work directly on chars, without regular expressions or intermediate strings.
+ */
+public final class IsoDuration {
+    /**
+     * the max number of fraction digits accepted for seconds, the same as {@link java.time.Duration#parse(CharSequence)}
+     */
+    private static final int maxFractionDigits = 9;
+
+    private IsoDuration() {}
+
+    /**
+     * @param text an ISO-8601 duration
+     * @return the corresponding TimePeriod
+     * @throws ParseException if text isn't a supported ISO-8601 duration
+     */
+    public static TimePeriod parse(final CharSequence text) throws ParseException {
+        final TimePeriod timePeriod = new TimePeriod();
+        final ParseResult result = new ParseResult(timePeriod);
+        if (!tryParse(text, result)) {
+            throw new ParseException(result.getError().getMessage(), result.getErrorIndex());
+        }
+        return timePeriod;
+    }
+
+    /**
+     * Parses text the same way as {@link com.adashrod.timeperiod.IsoDuration#parse(CharSequence)}, but reports failure
+     * through the return value and result instead of throwing an exception. Reusing result across calls makes this
+     * allocation-free on both success and failure.
+     * @param text an ISO-8601 duration
+     * @param result where to store the parsed TimePeriod or the error and its index
+     * @return true if text could be parsed
+     */
+    public static boolean tryParse(final CharSequence text, final ParseResult result) {
+        final ParsePosition position = result.reset(0);
+        return result.finish(parseInto(text, position, result.getTimePeriod()));
+    }
+
+    /**
+     * Reads all of text into result
+     * @param text the text to parse
+     * @param position on success, its index is moved to the end of text, and on failure its error index is set
+     * @param result a TimePeriod to set the fields of
+     * @return null on success, or why parsing failed
+     */
+    private static ParseError parseInto(final CharSequence text, final ParsePosition position,
+            final TimePeriod result) {
+        final int length = text.length();
+        int i = position.getIndex();
+        if (i == length || (text.charAt(i) != 'P' && text.charAt(i) != 'p')) {
+            position.setErrorIndex(i);
+            return ParseError.NOT_ISO_DURATION;
+        }
+        i++;
+        long weeks = 0, days = 0, hours = 0, minutes = 0, seconds = 0, milliseconds = 0;
+        // the last unit read; each one has to be smaller than the one before
+        TimeUnit previous = null;
+        boolean inTime = false;
+        while (i < length) {
+            if (!inTime && (text.charAt(i) == 'T' || text.charAt(i) == 't')) {
+                inTime = true;
+                i++;
+                if (i == length) {
+                    // "T" has to be followed by at least one unit
+                    break;
+                }
+            }
+            final int numberStart = i;
+            long number = 0;
+            while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                final int digit = text.charAt(i) - '0';
+                if (number > (Long.MAX_VALUE - digit) / 10) {
+                    position.setErrorIndex(numberStart);
+                    return ParseError.NUMBER_TOO_LARGE;
+                }
+                number = number * 10 + digit;
+                i++;
+            }
+            if (i == numberStart) {
+                position.setErrorIndex(i);
+                return ParseError.NOT_ISO_DURATION;
+            }
+            int fraction = -1;
+            if (i < length && (text.charAt(i) == '.' || text.charAt(i) == ',')) {
+                i++;
+                final int fractionStart = i;
+                fraction = 0;
+                while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                    if (i - fractionStart < 3) {
+                        fraction = fraction * 10 + text.charAt(i) - '0';
+                    }
+                    i++;
+                }
+                final int fractionDigits = i - fractionStart;
+                if (fractionDigits == 0 || fractionDigits > maxFractionDigits) {
+                    position.setErrorIndex(fractionDigits == 0 ? i : fractionStart + maxFractionDigits);
+                    return ParseError.NOT_ISO_DURATION;
+                }
+                for (int j = fractionDigits; j < 3; j++) {
+                    fraction *= 10;
+                }
+            }
+            if (i == length) {
+                position.setErrorIndex(i);
+                return ParseError.NOT_ISO_DURATION;
+            }
+            final TimeUnit timeUnit = unitOf(text.charAt(i), inTime);
+            if (timeUnit == null || (previous != null && timeUnit.ordinal() >= previous.ordinal()) ||
+                    (fraction >= 0 && timeUnit != TimeUnit.SECOND)) {
+                position.setErrorIndex(i);
+                final char designator = Character.toUpperCase(text.charAt(i));
+                return !inTime && (designator == 'Y' || designator == 'M') ? ParseError.UNSUPPORTED_ISO_UNIT :
+                    ParseError.NOT_ISO_DURATION;
+            }
+            switch (timeUnit) {
+                case WEEK:
+                    weeks = number;
+                    break;
+                case DAY:
+                    days = number;
+                    break;
+                case HOUR:
+                    hours = number;
+                    break;
+                case MINUTE:
+                    minutes = number;
+                    break;
+                default:
+                    seconds = number;
+                    milliseconds = Math.max(fraction, 0);
+                    break;
+            }
+            previous = timeUnit;
+            i++;
+        }
+        if (previous == null || (inTime && previous.ordinal() > TimeUnit.HOUR.ordinal())) {
+            // nothing after the "P", or nothing after the "T"
+            position.setErrorIndex(i);
+            return ParseError.NOT_ISO_DURATION;
+        }
+        try {
+            result.set(weeks, days, hours, minutes, seconds, milliseconds);
+        } catch (final ArithmeticException ae) {
+            position.setErrorIndex(position.getIndex());
+            return ParseError.NUMBER_TOO_LARGE;
+        }
+        position.setIndex(i);
+        return null;
+    }
+
+    /**
+     * @param designator the letter after a number
+     * @param inTime true if the letter is after the "T"
+     * @return the unit that designator stands for, or null if it isn't a supported designator in that part
+     */
+    private static TimeUnit unitOf(final char designator, final boolean inTime) {
+        switch (designator) {
+            case 'W':
+            case 'w':
+                return inTime ? null : TimeUnit.WEEK;
+            case 'D':
+            case 'd':
+                return inTime ? null : TimeUnit.DAY;
+            case 'H':
+            case 'h':
+                return inTime ? TimeUnit.HOUR : null;
+            case 'M':
+            case 'm':
+                return inTime ? TimeUnit.MINUTE : null;
+            case 'S':
+            case 's':
+                return inTime ? TimeUnit.SECOND : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param timePeriod a TimePeriod to format
+     * @return timePeriod as an ISO-8601 duration
+     * @throws ArithmeticException if the normalized weeks and days together don't fit in a long of days
+     */
+    public static String format(final TimePeriod timePeriod) {
+        return formatTo(timePeriod, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends timePeriod as an ISO-8601 duration to stringBuilder
+     * @param timePeriod a TimePeriod to format
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     * @throws ArithmeticException if the normalized weeks and days together don't fit in a long of days
+     */
+    public static StringBuilder formatTo(final TimePeriod timePeriod, final StringBuilder stringBuilder) {
+        try {
+            formatTo(timePeriod, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Appends timePeriod as an ISO-8601 duration to appendable
+     * @param timePeriod a TimePeriod to format
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     * @throws ArithmeticException if the normalized weeks and days together don't fit in a long of days
+     */
+    public static Appendable formatTo(final TimePeriod timePeriod, final Appendable appendable) throws IOException {
+        // the fields are normalized in locals so that timePeriod is never modified and can be shared
+        long milliseconds = timePeriod.getDenormalized(TimeUnit.MILLISECOND, null);
+        long seconds = Math.addExact(timePeriod.getDenormalized(TimeUnit.SECOND, null), milliseconds / 1000);
+        long minutes = Math.addExact(timePeriod.getDenormalized(TimeUnit.MINUTE, null), seconds / 60);
+        long hours = Math.addExact(timePeriod.getDenormalized(TimeUnit.HOUR, null), minutes / 60);
+        long days = Math.addExact(timePeriod.getDenormalized(TimeUnit.DAY, null), hours / 24);
+        final long weeks = Math.addExact(timePeriod.getDenormalized(TimeUnit.WEEK, null), days / 7);
+        milliseconds %= 1000;
+        seconds %= 60;
+        minutes %= 60;
+        hours %= 24;
+        days %= 7;
+        final boolean hasTime = (hours | minutes | seconds | milliseconds) != 0;
+        appendable.append('P');
+        if (weeks != 0 && days == 0 && !hasTime) {
+            Util.appendPaddedNumber(appendable, weeks, 1);
+            return appendable.append('W');
+        }
+        final long totalDays = Math.addExact(Math.multiplyExact(weeks, 7), days);
+        if (totalDays != 0) {
+            Util.appendPaddedNumber(appendable, totalDays, 1);
+            appendable.append('D');
+            if (!hasTime) {
+                return appendable;
+            }
+        }
+        appendable.append('T');
+        if (hours != 0) {
+            Util.appendPaddedNumber(appendable, hours, 1);
+            appendable.append('H');
+        }
+        if (minutes != 0) {
+            Util.appendPaddedNumber(appendable, minutes, 1);
+            appendable.append('M');
+        }
+        if (seconds != 0 || milliseconds != 0 || !hasTime) {
+            Util.appendPaddedNumber(appendable, seconds, 1);
+            if (milliseconds != 0) {
+                appendable.append('.');
+                if (milliseconds % 100 == 0) {
+                    Util.appendPaddedNumber(appendable, milliseconds / 100, 1);
+                } else if (milliseconds % 10 == 0) {
+                    Util.appendPaddedNumber(appendable, milliseconds / 10, 2);
+                } else {
+                    Util.appendPaddedNumber(appendable, milliseconds, 3);
+                }
+            }
+            appendable.append('S');
+        }
+        return appendable;
+    }
+}
@@ -0,0 +1,55 @@
+package com.adashrod.timeperiod;
+
+/**
+ * The reasons that parsing can fail, reported to {@link com.adashrod.timeperiod.TimePeriodMetrics.Listener}s. The
+ * message of each one is used as the message of the corresponding {@link java.text.ParseException}.
+ */
+public enum ParseError {
+    /**
+     * plain text or a unit name in the format string was not found in the input
+     */
+    NON_NUMERIC_TOKEN_NOT_FOUND("Non-numeric token not found"),
+    /**
+     * a number in the input doesn't fit in a long, or the parsed fields together are too long to be represented
+     */
+    NUMERIC_TOKEN_TOO_LARGE("Numeric token too large"),
+    /**
+     * the input had no digits where the format expected a number
+     */
+    MISSING_NUMERIC_TOKEN("Missing numeric token"),
+    /**
+     * the input matched the whole format but didn't end there
+     */
+    EXTRA_CHARACTERS("Encountered extra characters after expected end of input"),
+    /**
+     * {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)} input isn't "n units"
+     */
+    NOT_TIME_UNITS("Couldn't parse as time units"),
+    /**
+     * {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)} input has letters that aren't a unit name
+     */
+    UNRECOGNIZED_UNITS("Misspelled/Unrecognized units"),
+    /**
+     * a number in {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)} input, or the sum of a repeated unit,
+     * doesn't fit in a long
+     */
+    NUMBER_TOO_LARGE("Number too large"),
+    /**
+     * {@link com.adashrod.timeperiod.IsoDuration} input isn't an ISO-8601 duration
+     */
+    NOT_ISO_DURATION("Not an ISO-8601 duration"),
+    /**
+     * {@link com.adashrod.timeperiod.IsoDuration} input has years or months, which have no fixed length
+     */
+    UNSUPPORTED_ISO_UNIT("ISO-8601 years and months aren't supported");
+
+    private final String message;
+
+    private ParseError(final String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
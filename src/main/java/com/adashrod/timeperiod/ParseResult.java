@@ -0,0 +1,130 @@
+package com.adashrod.timeperiod;
+
+import java.text.ParsePosition;
+
+/**
+ * A reusable holder for the outcome of {@link com.adashrod.timeperiod.TimePeriodFormat#tryParse(CharSequence, ParseResult)},
+ * {@link com.adashrod.timeperiod.TimePeriodFormatSet#tryParse(CharSequence, ParseResult)}, and
+ * {@link com.adashrod.timeperiod.TimePeriod#tryParseAsWords(CharSequence, ParseResult)}. Parsing into the same
+ * ParseResult over and over allocates nothing, whether it succeeds or fails, which makes it suitable for validating
+ * large amounts of untrusted input. Each parse overwrites the previous outcome. Instances aren't thread-safe.
+ */
+public final class ParseResult {
+    private final TimePeriod timePeriod;
+    private final ParsePosition position = new ParsePosition(0);
+    private ParseError error;
+
+    public ParseResult() {
+        this(new TimePeriod());
+    }
+
+    /**
+     * @param timePeriod the TimePeriod to parse into
+     */
+    ParseResult(final TimePeriod timePeriod) {
+        this.timePeriod = timePeriod;
+    }
+
+    /**
+     * Clears the outcome of any previous parse
+     * @param index where the next parse starts
+     * @return the position to pass to a parser
+     */
+    ParsePosition reset(final int index) {
+        timePeriod.clear();
+        position.setIndex(index);
+        position.setErrorIndex(-1);
+        error = null;
+        return position;
+    }
+
+    /**
+     * Records a failed attempt to match part of the input, keeping whichever failure got furthest into the input
+     * @param error why the attempt failed
+     * @param index where in the input it failed
+     */
+    void recordFailure(final ParseError error, final int index) {
+        if (index > position.getErrorIndex()) {
+            position.setErrorIndex(index);
+            this.error = error;
+        }
+    }
+
+    /**
+     * Records the outcome of a parse
+     * @param error why parsing failed, or null on success
+     * @return true on success
+     */
+    boolean finish(final ParseError error) {
+        this.error = error;
+        return error == null;
+    }
+
+    /**
+     * @return the TimePeriod that was parsed into, without copying it
+     */
+    TimePeriod getTimePeriod() {
+        return timePeriod;
+    }
+
+    /**
+     * @return true if the last parse succeeded
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return why the last parse failed, or null if it succeeded
+     */
+    public ParseError getError() {
+        return error;
+    }
+
+    /**
+     * @return the index in the input where the last parse failed, or -1 if it succeeded
+     */
+    public int getErrorIndex() {
+        return position.getErrorIndex();
+    }
+
+    /**
+     * @return the index in the input after the last char that was parsed
+     */
+    public int getEndIndex() {
+        return position.getIndex();
+    }
+
+    /**
+     * @return a new TimePeriod with the parsed value
+     * @throws IllegalStateException if the last parse failed
+     */
+    public TimePeriod toTimePeriod() {
+        checkSuccess();
+        return new TimePeriod(timePeriod.getWeeks(), timePeriod.getDays(), timePeriod.getHours(),
+            timePeriod.getMinutes(), timePeriod.getSeconds(), timePeriod.getMilliseconds());
+    }
+
+    /**
+     * @return the parsed value in milliseconds, without allocating anything
+     * @throws IllegalStateException if the last parse failed
+     * @throws ArithmeticException if the parsed value doesn't fit in a long of milliseconds
+     */
+    public long toMillis() {
+        checkSuccess();
+        return timePeriod.toMillis();
+    }
+
+    private void checkSuccess() {
+        if (error != null) {
+            throw new IllegalStateException(String.format("Parsing failed: %s at index %d", error.getMessage(),
+                getErrorIndex()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return error == null ? String.format("%s{%s}", getClass().getSimpleName(), timePeriod) :
+            String.format("%s{%s at index %d}", getClass().getSimpleName(), error, getErrorIndex());
+    }
+}
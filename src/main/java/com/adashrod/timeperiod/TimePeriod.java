@@ -1,31 +1,23 @@
 package com.adashrod.timeperiod;
 
-import javafx.util.Pair;
 
+import java.math.BigInteger;
+import java.time.Duration;
 import java.text.ParseException;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.text.ParsePosition;
+import java.util.Locale;
 
 /**
  * A TimePeriod object represents a period of time, i.e. a length of time without context of the beginning or end of the
  * period. It currently supports the units described in {@link com.adashrod.timeperiod.TimeUnit}. It doesn't support anything
  * larger than weeks since they have variable conversions, e.g. months can be 28, 29, 30, or 31 days; years can be 365
  * or 366 days, etc.
+ * Arithmetic never silently overflows: any operation whose result can't be represented throws an
+ * {@link java.lang.ArithmeticException}.
+ * Note: this class has a natural ordering that is inconsistent with equals.
  */
-public class TimePeriod {
-    private static final Pattern unitWordPattern;
-
-    static {
-        final StringBuilder unitsBuilder = new StringBuilder();
-        for (final TimeUnit timeUnit: TimeUnit.values()) {
-            unitsBuilder.append(timeUnit.getPluralName()).append("?|");
-        }
-        unitsBuilder.deleteCharAt(unitsBuilder.length() - 1);
-        unitWordPattern = Pattern.compile(String.format("\\d+\\s*(%s)", unitsBuilder.toString()), Pattern.CASE_INSENSITIVE);
-    }
+public class TimePeriod implements Comparable<TimePeriod> {
+    private static final TimeUnit[] timeUnits = TimeUnit.values();
 
     private long weeks;
     private long days;
@@ -53,13 +45,14 @@ public class TimePeriod {
      * @param milliseconds milliseconds
      */
     public TimePeriod(final long weeks, final long days, final long hours, final long minutes, final long seconds, final long milliseconds) {
-        this.weeks = weeks;
-        this.days = days;
-        this.hours = hours;
-        this.minutes = minutes;
-        this.seconds = seconds;
-        this.milliseconds = milliseconds;
-        normalize();
+        assign(weeks, days, hours, minutes, seconds, milliseconds);
+    }
+
+    /**
+     * @return a builder for setting any number of fields and normalizing once at the end
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -73,7 +66,10 @@ public class TimePeriod {
         hours = 0;
         minutes = 0;
         seconds = 0;
-        if (timeUnit == TimeUnit.SECOND) {
+        milliseconds = 0;
+        if (timeUnit == TimeUnit.MILLISECOND) {
+            milliseconds = number;
+        } else if (timeUnit == TimeUnit.SECOND) {
             seconds = number;
         } else if (timeUnit == TimeUnit.MINUTE) {
             minutes = number;
@@ -88,52 +84,204 @@ public class TimePeriod {
     }
 
     /**
-     * Parses a formatted string into a TimePeriod. The expected format is "n units" where n is a number, units is the
-     * name of a supported unit (singular or plural), and there is at least one whitespace char in between
-     * Note: this doesn't support other locales
-     * @param timeString a formatted string, e.g. "2 weeks", "5 days", "36 hours"
+     * Parses a formatted string into a TimePeriod. The expected format is "n units" where n is a number and units is the
+     * name of a supported unit (singular, plural, or abbreviated, in any case), optionally separated by whitespace.
+     * Several of these can be combined, separated by whitespace, e.g. "2 weeks 3 days 4h"; repeated units are added
+     * together.
+     * The input is scanned once, and unit names are recognized with a precomputed trie, so both success and failure
+     * take time linear in the length of the input. When a unit name is misspelled, the error offset is the index of the
+     * first char that doesn't continue any unit name. Otherwise, the error offset is the index where a number or unit
+     * name was expected, e.g. 1 for "2" and 2 for "2 ". The input has to start with a digit, so " 2 days" fails at 0,
+     * while whitespace after the last unit name is ignored, so "2 days " is accepted.
+     * This recognizes English names; see {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String, Locale)} for
+     * other locales.
+     * @param timeString a formatted string, e.g. "2 weeks", "5 days", "36 hours", "1 hour 30 minutes"
      * @return the corresponding TimePeriod
      * @throws ParseException if the string doesn't match the format
      */
     public static TimePeriod parseAsWords(final String timeString) throws ParseException {
-        final Matcher matcher = unitWordPattern.matcher(timeString);
-        if (matcher.matches()) {
-            final String[] parts = timeString.split("\\s");
-            return new TimePeriod(new Long(parts[0]), TimeUnit.parseTimeUnit(parts[1]));
-        }
-        int i, state;
-        for (i = 0, state = 0; i < timeString.length() && state < 2; i++) {
-            final char c = timeString.charAt(i);
-            if ((state == 0 && Character.isWhitespace(c)) || (state == 1 && Character.isAlphabetic(c))) {
-                state++;
-            } else if ((state == 0 && Character.isAlphabetic(c)) || (state == 1 && Character.isDigit(c))) {
+        final TimePeriod timePeriod = new TimePeriod();
+        final ParseResult result = new ParseResult(timePeriod);
+        if (!tryParseAsWords(timeString, result)) {
+            throw new ParseException(result.getError().getMessage(), result.getErrorIndex());
+        }
+        return timePeriod;
+    }
+
+    /**
+     * Parses text the same way as {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)}, but reports failure
+     * through the return value and result instead of throwing an exception. Reusing result across calls makes this
+     * allocation-free on both success and failure.
+     * @param text a formatted string, e.g. "2 weeks", "1 hour 30 minutes"
+     * @param result where to store the parsed TimePeriod or the error and its index
+     * @return true if text could be parsed
+     */
+    public static boolean tryParseAsWords(final CharSequence text, final ParseResult result) {
+        final ParsePosition position = result.reset(0);
+        return result.finish(parseAsWordsReporting(text, position, result.getTimePeriod(), true,
+            UnitNames.english().getTrie()));
+    }
+
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)}, but recognizes the unit names of locale
+     * instead of English ones, e.g. "2 Stunden 30 Minuten" for German. The names of a locale are loaded the first time
+     * it's used; a locale with no names of its own uses English. Abbreviations that end with a period are accepted
+     * without it too, e.g. both "2 Std." and "2 Std".
+     * @param timeString a formatted string
+     * @param locale the locale of the unit names in timeString
+     * @return the corresponding TimePeriod
+     * @throws ParseException if the string doesn't match the format
+     */
+    public static TimePeriod parseAsWords(final String timeString, final Locale locale) throws ParseException {
+        final TimePeriod timePeriod = new TimePeriod();
+        final ParseResult result = new ParseResult(timePeriod);
+        if (!tryParseAsWords(timeString, locale, result)) {
+            throw new ParseException(result.getError().getMessage(), result.getErrorIndex());
+        }
+        return timePeriod;
+    }
+
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriod#tryParseAsWords(CharSequence, ParseResult)}, but recognizes
+     * the unit names of locale, see {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String, Locale)}
+     * @param text a formatted string
+     * @param locale the locale of the unit names in text
+     * @param result where to store the parsed TimePeriod or the error and its index
+     * @return true if text could be parsed
+     */
+    public static boolean tryParseAsWords(final CharSequence text, final Locale locale, final ParseResult result) {
+        final ParsePosition position = result.reset(0);
+        return result.finish(parseAsWordsReporting(text, position, result.getTimePeriod(), true,
+            UnitNames.forLocale(locale).getTrie()));
+    }
+
+    /**
+     * Parses text in place, starting at position.getIndex(), in the format described at
+     * {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)}. This follows the conventions of
+     * {@link java.text.Format#parseObject(String, ParsePosition)}: parsing stops after the last unit name that is
+     * followed by something other than another "n units", and nothing is copied out of text. On success, position's
+     * index is set to the index right after the last unit name. On failure, position's index is unchanged and its error
+     * index is set to the index where the failure occurred.
+     * @param text the text to parse
+     * @param position where to start parsing; updated as described above
+     * @return the parsed TimePeriod, or null if text doesn't contain "n units" at position
+     */
+    public static TimePeriod parseAsWords(final CharSequence text, final ParsePosition position) {
+        final TimePeriod result = new TimePeriod();
+        return parseAsWordsReporting(text, position, result, false, UnitNames.english().getTrie()) == null ? result :
+            null;
+    }
+
+    /**
+     * Calls {@link com.adashrod.timeperiod.TimePeriod#parseAsWordsInto(CharSequence, ParsePosition, TimePeriod, boolean, UnitNameTrie)}
+     * and reports the outcome to the {@link com.adashrod.timeperiod.TimePeriodMetrics} listener, if there is one
+     */
+    private static ParseError parseAsWordsReporting(final CharSequence text, final ParsePosition position,
+            final TimePeriod result, final boolean whole, final UnitNameTrie unitNames) {
+        final TimePeriodMetrics.Registration registration = TimePeriodMetrics.registration;
+        if (registration == null) {
+            return parseAsWordsInto(text, position, result, whole, unitNames);
+        }
+        final long start = registration.startTimer();
+        final ParseError error = parseAsWordsInto(text, position, result, whole, unitNames);
+        registration.reportParse(null, error, position.getErrorIndex(), start);
+        return error;
+    }
+
+    /**
+     * Reads text starting at position.getIndex() into result, see
+     * {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(CharSequence, ParsePosition)}
+     * @param text the text to parse
+     * @param position where to start parsing; on success, its index is moved to the end of the match, and on failure
+     *                 its error index is set
+     * @param result a TimePeriod to set the fields of
+     * @param whole true if text has to end after the last "n units", apart from trailing whitespace
+     * @param unitNames the unit names to recognize
+     * @return null on success, or why parsing failed
+     */
+    private static ParseError parseAsWordsInto(final CharSequence text, final ParsePosition position,
+            final TimePeriod result, final boolean whole, final UnitNameTrie unitNames) {
+        long weeks = 0, days = 0, hours = 0, minutes = 0, seconds = 0, milliseconds = 0;
+        final int length = text.length();
+        int i = position.getIndex();
+        int end;
+        do {
+            final int numberStart = i;
+            long number = 0;
+            while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                final int digit = text.charAt(i) - '0';
+                if (number > (Long.MAX_VALUE - digit) / 10) {
+                    position.setErrorIndex(numberStart);
+                    return ParseError.NUMBER_TOO_LARGE;
+                }
+                number = number * 10 + digit;
                 i++;
-                break;
             }
-        }
-        if (state < 2) {
-            throw new ParseException("Couldn't parse as time units", i - 1);
-        } else {
-            final Set<String> unitNames = new HashSet<>();
-            for (final TimeUnit timeUnit: TimeUnit.values()) {
-                unitNames.add(timeUnit.getPluralName().toLowerCase());
+            if (i == numberStart) {
+                position.setErrorIndex(i);
+                return ParseError.NOT_TIME_UNITS;
             }
-            final int start = i - 1;
-            int j;
-            for (j = start + 1; j <= timeString.length(); j++) {
-                final String substring = timeString.substring(start, j).toLowerCase();
-                for (final Iterator<String> iterator = unitNames.iterator(); iterator.hasNext(); ) {
-                    final String unit = iterator.next();
-                    if (!unit.startsWith(substring)) {
-                        iterator.remove();
-                    }
-                }
-                if (unitNames.isEmpty()) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            final int unitStart = i;
+            UnitNameTrie.Node node = unitNames.getRoot();
+            while (i < length) {
+                final UnitNameTrie.Node next = node.getChild(text.charAt(i));
+                if (next == null) {
                     break;
                 }
+                node = next;
+                i++;
             }
-            throw new ParseException("Misspelled/Unrecognized units", j - 1);
+            final TimeUnit timeUnit = node.getTimeUnit();
+            if (timeUnit == null || (i < length && Character.isAlphabetic(text.charAt(i)))) {
+                position.setErrorIndex(i);
+                return i == unitStart ? ParseError.NOT_TIME_UNITS : ParseError.UNRECOGNIZED_UNITS;
+            }
+            final long total;
+            switch (timeUnit) {
+                case WEEK:
+                    total = weeks += number;
+                    break;
+                case DAY:
+                    total = days += number;
+                    break;
+                case HOUR:
+                    total = hours += number;
+                    break;
+                case MINUTE:
+                    total = minutes += number;
+                    break;
+                case SECOND:
+                    total = seconds += number;
+                    break;
+                default:
+                    total = milliseconds += number;
+                    break;
+            }
+            if (total < 0) {
+                position.setErrorIndex(numberStart);
+                return ParseError.NUMBER_TOO_LARGE;
+            }
+            end = i;
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            // another "n units" only follows if the next non-whitespace char is a digit
+        } while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9');
+        if (whole && i != length) {
+            position.setErrorIndex(i);
+            return ParseError.NOT_TIME_UNITS;
+        }
+        try {
+            result.assign(weeks, days, hours, minutes, seconds, milliseconds);
+        } catch (final ArithmeticException ae) {
+            position.setErrorIndex(position.getIndex());
+            return ParseError.NUMBER_TOO_LARGE;
         }
+        position.setIndex(end);
+        return null;
     }
 
     /**
@@ -155,66 +303,338 @@ public class TimePeriod {
      * t.getLargestUnit(TimeUnit.DAY) == &lt;77, HOUR&gt;
      * t.getLargestUnit(TimeUnit.HOUR) == &lt;77, HOUR&gt;
      * @param largestAllowed the largest unit type that will be returned, regardless of how much time is in the object
-     * @return a pair with an Long and a TimeUnit
+     * @return a quantity with an amount and a TimeUnit
      */
-    public Pair<Long, TimeUnit> getLargestUnit(final TimeUnit largestAllowed) {
-        final boolean hasDays = days > 0;
-        final boolean hasHours = hours > 0;
-        final boolean hasMinutes = minutes > 0;
-        final boolean hasSeconds = seconds > 0;
-        final boolean hasMilliseconds = milliseconds > 0;
+    public UnitQuantity getLargestUnit(final TimeUnit largestAllowed) {
+        return getLargestUnit(largestAllowed, new UnitQuantity());
+    }
 
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriod#getLargestUnit(TimeUnit)}, but stores the result in a
+     * caller-supplied holder instead of allocating one, so that rendering many periods can reuse a single instance.
+     * This doesn't modify the TimePeriod.
+     * @param largestAllowed the largest unit type that will be returned, regardless of how much time is in the object
+     * @param result where to store the amount and unit
+     * @return result
+     */
+    public UnitQuantity getLargestUnit(final TimeUnit largestAllowed, final UnitQuantity result) {
         // highestResolutionNecessary is the most granular unit (milliseconds being the highest resolution) needed to
         // represent the time without truncating any data.
         final TimeUnit highestResolutionNecessary;
-        if (hasMilliseconds) {
+        if (milliseconds > 0) {
             highestResolutionNecessary = TimeUnit.MILLISECOND;
-        } else if (hasSeconds) {
+        } else if (seconds > 0) {
             highestResolutionNecessary = TimeUnit.SECOND;
-        } else if (hasMinutes) {
+        } else if (minutes > 0) {
             highestResolutionNecessary = TimeUnit.MINUTE;
-        } else if (hasHours) {
+        } else if (hours > 0) {
             highestResolutionNecessary = TimeUnit.HOUR;
-        } else if (hasDays) {
+        } else if (days > 0) {
             highestResolutionNecessary = TimeUnit.DAY;
         } else {
             highestResolutionNecessary = TimeUnit.WEEK;
         }
 
-        denormalize(TimeUnit.min(largestAllowed, highestResolutionNecessary));
-        if (weeks != 0) {
-            return new Pair<>(weeks, TimeUnit.WEEK);
-        } else if (days != 0) {
-            return new Pair<>(days, TimeUnit.DAY);
-        } else if (hours != 0) {
-            return new Pair<>(hours, TimeUnit.HOUR);
-        } else if (minutes != 0) {
-            return new Pair<>(minutes, TimeUnit.MINUTE);
+        // computed without denormalizing this, so that TimePeriods can be safely read by multiple threads
+        final TimeUnit largestUnit = TimeUnit.min(largestAllowed, highestResolutionNecessary);
+        final long denormalizedWeeks = getDenormalized(TimeUnit.WEEK, largestUnit);
+        final long denormalizedDays = getDenormalized(TimeUnit.DAY, largestUnit);
+        final long denormalizedHours = getDenormalized(TimeUnit.HOUR, largestUnit);
+        final long denormalizedMinutes = getDenormalized(TimeUnit.MINUTE, largestUnit);
+        final long denormalizedSeconds = getDenormalized(TimeUnit.SECOND, largestUnit);
+        if (denormalizedWeeks != 0) {
+            return result.set(denormalizedWeeks, TimeUnit.WEEK);
+        } else if (denormalizedDays != 0) {
+            return result.set(denormalizedDays, TimeUnit.DAY);
+        } else if (denormalizedHours != 0) {
+            return result.set(denormalizedHours, TimeUnit.HOUR);
+        } else if (denormalizedMinutes != 0) {
+            return result.set(denormalizedMinutes, TimeUnit.MINUTE);
+        } else if (largestUnit == TimeUnit.MILLISECOND) {
+            return result.set(getDenormalized(TimeUnit.MILLISECOND, largestUnit), TimeUnit.MILLISECOND);
         } else {
-            return new Pair<>(seconds, TimeUnit.SECOND);
+            return result.set(denormalizedSeconds, TimeUnit.SECOND);
+        }
+    }
+
+    /**
+     * Returns the value that one unit would have if this were de-normalized with
+     * {@link com.adashrod.timeperiod.TimePeriod#denormalize(TimeUnit)}, without modifying this. Units greater than
+     * largestAllowed are 0, largestAllowed holds the value of itself and all greater units, and smaller units are
+     * unchanged. E.g. if this == 2 days, 3 hours, getDenormalized(HOUR, HOUR) == 51
+     * @param timeUnit the unit to get the value of
+     * @param largestAllowed the largest TimeUnit that wouldn't be zeroed out, or null for no de-normalization
+     * @return the de-normalized value of timeUnit
+     */
+    long getDenormalized(final TimeUnit timeUnit, final TimeUnit largestAllowed) {
+        if (largestAllowed == null || timeUnit.ordinal() < largestAllowed.ordinal()) {
+            return get(timeUnit);
+        } else if (timeUnit.ordinal() > largestAllowed.ordinal()) {
+            return 0;
+        }
+        long total = weeks;
+        if (timeUnit != TimeUnit.WEEK) {
+            total = total * 7 + days;
+        }
+        if (timeUnit.ordinal() < TimeUnit.DAY.ordinal()) {
+            total = total * 24 + hours;
+        }
+        if (timeUnit.ordinal() < TimeUnit.HOUR.ordinal()) {
+            total = total * 60 + minutes;
+        }
+        if (timeUnit.ordinal() < TimeUnit.MINUTE.ordinal()) {
+            total = total * 60 + seconds;
+        }
+        if (timeUnit == TimeUnit.MILLISECOND) {
+            total = total * 1000 + milliseconds;
+        }
+        return total;
+    }
+
+    /**
+     * Sets every field at once and normalizes once, instead of once per field as the individual setters do
+     * @param weeks weeks
+     * @param days days
+     * @param hours hours
+     * @param minutes minutes
+     * @param seconds seconds
+     * @param milliseconds milliseconds
+     * @return this
+     * @throws IllegalArgumentException if any of the values is negative
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    public TimePeriod set(final long weeks, final long days, final long hours, final long minutes, final long seconds,
+            final long milliseconds) {
+        if ((weeks | days | hours | minutes | seconds | milliseconds) < 0) {
+            throw new IllegalArgumentException(String.format("Negative value in %d, %d, %d, %d, %d, %d", weeks, days,
+                hours, minutes, seconds, milliseconds));
+        }
+        return assign(weeks, days, hours, minutes, seconds, milliseconds);
+    }
+
+    /**
+     * Sets every field without checking the values and normalizes once. If normalizing overflows, this is left as it
+     * was before the call.
+     * @return this
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    private TimePeriod assign(final long weeks, final long days, final long hours, final long minutes,
+            final long seconds, final long milliseconds) {
+        final long oldWeeks = this.weeks;
+        final long oldDays = this.days;
+        final long oldHours = this.hours;
+        final long oldMinutes = this.minutes;
+        final long oldSeconds = this.seconds;
+        final long oldMilliseconds = this.milliseconds;
+        final boolean oldNeedsNormalization = needsNormalization;
+        this.weeks = weeks;
+        this.days = days;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.seconds = seconds;
+        this.milliseconds = milliseconds;
+        needsNormalization = true;
+        try {
+            return normalize();
+        } catch (final ArithmeticException e) {
+            this.weeks = oldWeeks;
+            this.days = oldDays;
+            this.hours = oldHours;
+            this.minutes = oldMinutes;
+            this.seconds = oldSeconds;
+            this.milliseconds = oldMilliseconds;
+            needsNormalization = oldNeedsNormalization;
+            throw e;
+        }
+    }
+
+    /**
+     * Sets every field to exactly the given values without normalizing them, e.g. to restore a de-normalized period
+     * @return this
+     * @throws ArithmeticException if the result is too long to be represented, in which case this is left unchanged
+     */
+    TimePeriod setDenormalized(final long weeks, final long days, final long hours, final long minutes,
+            final long seconds, final long milliseconds) {
+        // normalizing once first checks that the fields together aren't too long
+        assign(weeks, days, hours, minutes, seconds, milliseconds);
+        this.weeks = weeks;
+        this.days = days;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.seconds = seconds;
+        this.milliseconds = milliseconds;
+        needsNormalization = true;
+        return this;
+    }
+
+    /**
+     * Sets every field to 0, so that the object can be reused
+     * @return this
+     */
+    TimePeriod clear() {
+        weeks = days = hours = minutes = seconds = milliseconds = 0;
+        needsNormalization = false;
+        return this;
+    }
+
+    /**
+     * @return the total length of this TimePeriod in milliseconds
+     * @throws ArithmeticException if the total doesn't fit in a long
+     */
+    public long toMillis() {
+        long total = Math.multiplyExact(weeks, TimeUnit.WEEK.getMillisecondsPerUnit());
+        total = Math.addExact(total, Math.multiplyExact(days, TimeUnit.DAY.getMillisecondsPerUnit()));
+        total = Math.addExact(total, Math.multiplyExact(hours, TimeUnit.HOUR.getMillisecondsPerUnit()));
+        total = Math.addExact(total, Math.multiplyExact(minutes, TimeUnit.MINUTE.getMillisecondsPerUnit()));
+        total = Math.addExact(total, Math.multiplyExact(seconds, TimeUnit.SECOND.getMillisecondsPerUnit()));
+        return Math.addExact(total, milliseconds);
+    }
+
+    /**
+     * @return the total length of this TimePeriod in nanoseconds
+     * @throws ArithmeticException if the total doesn't fit in a long (about 292 years)
+     */
+    public long toNanos() {
+        return Math.multiplyExact(toMillis(), 1_000_000L);
+    }
+
+    /**
+     * Converts this to a whole number of a JDK unit, truncating any remainder, e.g. for passing a TimePeriod to
+     * {@link java.util.concurrent.ScheduledExecutorService#schedule(Runnable, long, java.util.concurrent.TimeUnit)}.
+     * Unlike {@link java.util.concurrent.TimeUnit#convert(long, java.util.concurrent.TimeUnit)}, this doesn't saturate.
+     * This doesn't normalize this.
+     * @param timeUnit the unit to convert to
+     * @return the length of this in timeUnit
+     * @throws ArithmeticException if the result doesn't fit in a long
+     */
+    public long to(final java.util.concurrent.TimeUnit timeUnit) {
+        switch (timeUnit) {
+            case NANOSECONDS:
+                return toNanos();
+            case MICROSECONDS:
+                return Math.multiplyExact(toMillis(), 1000L);
+            case MILLISECONDS:
+                return toMillis();
+            case SECONDS:
+                return truncatedTo(TimeUnit.SECOND);
+            case MINUTES:
+                return truncatedTo(TimeUnit.MINUTE);
+            case HOURS:
+                return truncatedTo(TimeUnit.HOUR);
+            default:
+                return truncatedTo(TimeUnit.DAY);
+        }
+    }
+
+    /**
+     * @return an equivalent Duration
+     * @throws ArithmeticException if the length of this in seconds doesn't fit in a long
+     */
+    public Duration toDuration() {
+        return Duration.ofSeconds(truncatedTo(TimeUnit.SECOND), milliseconds % 1000 * 1_000_000L);
+    }
+
+    /**
+     * Converts a Duration to a TimePeriod, truncating it to a whole number of milliseconds
+     * @param duration a non-negative Duration
+     * @return a normalized TimePeriod
+     * @throws IllegalArgumentException if duration is negative
+     */
+    public static TimePeriod from(final Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(String.format("Negative duration: %s", duration));
+        }
+        return new TimePeriod(0, 0, 0, 0, duration.getSeconds(), duration.getNano() / 1_000_000);
+    }
+
+    /**
+     * Computes the length of this in whole units of unit from the fields as they are, without normalizing this. Each
+     * smaller field is carried into the next larger one by dividing, so nothing overflows unless the result does.
+     * @param unit the unit to convert to
+     * @return the length of this in unit, truncated
+     * @throws ArithmeticException if the result doesn't fit in a long
+     */
+    private long truncatedTo(final TimeUnit unit) {
+        long carry = 0;
+        for (int i = 0; i < unit.ordinal(); i++) {
+            final long field = get(timeUnits[i]);
+            final long perNextUnit = timeUnits[i + 1].getMillisecondsPerUnit() / timeUnits[i].getMillisecondsPerUnit();
+            carry = field / perNextUnit + carry / perNextUnit +
+                (field % perNextUnit + carry % perNextUnit) / perNextUnit;
+        }
+        long total = Math.addExact(get(unit), carry);
+        for (int i = unit.ordinal() + 1; i < timeUnits.length; i++) {
+            total = Math.addExact(total, Math.multiplyExact(get(timeUnits[i]),
+                timeUnits[i].getMillisecondsPerUnit() / unit.getMillisecondsPerUnit()));
+        }
+        return total;
+    }
+
+    /**
+     * @param timeUnit which unit to get
+     * @return the current value of the field for timeUnit
+     */
+    long get(final TimeUnit timeUnit) {
+        switch (timeUnit) {
+            case WEEK:
+                return weeks;
+            case DAY:
+                return days;
+            case HOUR:
+                return hours;
+            case MINUTE:
+                return minutes;
+            case SECOND:
+                return seconds;
+            default:
+                return milliseconds;
+        }
+    }
+
+    /**
+     * Sets the field for timeUnit with its public setter, so carries are added to larger units. When setting several
+     * fields, set the largest first so that carries aren't overwritten.
+     * @param timeUnit which unit to set
+     * @param value the new value
+     * @return this
+     */
+    TimePeriod set(final TimeUnit timeUnit, final long value) {
+        switch (timeUnit) {
+            case WEEK:
+                return setWeeks(value);
+            case DAY:
+                return setDays(value);
+            case HOUR:
+                return setHours(value);
+            case MINUTE:
+                return setMinutes(value);
+            case SECOND:
+                return setSeconds(value);
+            default:
+                return setMilliseconds(value);
         }
     }
 
     TimePeriod normalize() {
         if (needsNormalization) {
             if (milliseconds >= 1000) {
-                seconds += milliseconds / 1000;
+                seconds = Math.addExact(seconds, milliseconds / 1000);
                 milliseconds %= 1000;
             }
             if (seconds >= 60) {
-                minutes += seconds / 60;
+                minutes = Math.addExact(minutes, seconds / 60);
                 seconds %= 60;
             }
             if (minutes >= 60) {
-                hours += minutes / 60;
+                hours = Math.addExact(hours, minutes / 60);
                 minutes %= 60;
             }
             if (hours >= 24) {
-                days += hours / 24;
+                days = Math.addExact(days, hours / 24);
                 hours %= 24;
             }
             if (days >= 7) {
-                weeks += days / 7;
+                weeks = Math.addExact(weeks, days / 7);
                 days %= 7;
             }
             needsNormalization = false;
@@ -269,6 +689,222 @@ public class TimePeriod {
         return this;
     }
 
+    /**
+     * Adds an amount of a unit to this. If the result overflows, this is left unchanged.
+     * @param amount how many units to add
+     * @param timeUnit which unit
+     * @return this
+     * @throws IllegalArgumentException if amount is negative
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    public TimePeriod addInPlace(final long amount, final TimeUnit timeUnit) {
+        if (amount < 0) {
+            throw new IllegalArgumentException(String.format("Negative amount: %d", amount));
+        }
+        switch (timeUnit) {
+            case WEEK:
+                return assign(Math.addExact(weeks, amount), days, hours, minutes, seconds, milliseconds);
+            case DAY:
+                return assign(weeks, Math.addExact(days, amount), hours, minutes, seconds, milliseconds);
+            case HOUR:
+                return assign(weeks, days, Math.addExact(hours, amount), minutes, seconds, milliseconds);
+            case MINUTE:
+                return assign(weeks, days, hours, Math.addExact(minutes, amount), seconds, milliseconds);
+            case SECOND:
+                return assign(weeks, days, hours, minutes, Math.addExact(seconds, amount), milliseconds);
+            default:
+                return assign(weeks, days, hours, minutes, seconds, Math.addExact(milliseconds, amount));
+        }
+    }
+
+    /**
+     * Adds other to this without allocating anything, for accumulating in loops. If the result overflows, this is
+     * left unchanged.
+     * @param other the period to add
+     * @return this
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    public TimePeriod addInPlace(final TimePeriod other) {
+        return assign(Math.addExact(weeks, other.weeks), Math.addExact(days, other.days),
+            Math.addExact(hours, other.hours), Math.addExact(minutes, other.minutes),
+            Math.addExact(seconds, other.seconds), Math.addExact(milliseconds, other.milliseconds));
+    }
+
+    /**
+     * @param other the period to add
+     * @return a new TimePeriod that is the sum of this and other
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    public TimePeriod plus(final TimePeriod other) {
+        return copy().addInPlace(other);
+    }
+
+    /**
+     * @param amount how many units to add
+     * @param timeUnit which unit
+     * @return a new TimePeriod that is the sum of this and the amount of timeUnit
+     * @throws IllegalArgumentException if amount is negative
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    public TimePeriod plus(final long amount, final TimeUnit timeUnit) {
+        return copy().addInPlace(amount, timeUnit);
+    }
+
+    /**
+     * @param other the period to subtract
+     * @return a new TimePeriod that is the difference of this and other
+     * @throws ArithmeticException if other is longer than this, since TimePeriods can't be negative
+     */
+    public TimePeriod minus(final TimePeriod other) {
+        // computed from whole weeks and the milliseconds left over, so that neither operand is normalized in place
+        long resultWeeks = truncatedTo(TimeUnit.WEEK) - other.truncatedTo(TimeUnit.WEEK);
+        long resultMilliseconds = millisecondsOfWeek() - other.millisecondsOfWeek();
+        if (resultMilliseconds < 0) {
+            resultMilliseconds += TimeUnit.WEEK.getMillisecondsPerUnit();
+            resultWeeks--;
+        }
+        if (resultWeeks < 0) {
+            throw new ArithmeticException("Result of subtraction is negative");
+        }
+        return new TimePeriod(resultWeeks, 0, 0, 0, 0, resultMilliseconds);
+    }
+
+    /**
+     * @param amount how many units to subtract
+     * @param timeUnit which unit
+     * @return a new TimePeriod that is the difference of this and the amount of timeUnit
+     * @throws IllegalArgumentException if amount is negative
+     * @throws ArithmeticException if amount of timeUnit is longer than this
+     */
+    public TimePeriod minus(final long amount, final TimeUnit timeUnit) {
+        if (amount < 0) {
+            throw new IllegalArgumentException(String.format("Negative amount: %d", amount));
+        }
+        return minus(new TimePeriod(amount, timeUnit));
+    }
+
+    /**
+     * @param multiplicand what to multiply by
+     * @return a new TimePeriod that is multiplicand times as long as this
+     * @throws IllegalArgumentException if multiplicand is negative
+     * @throws ArithmeticException if the result is too long to be represented
+     */
+    public TimePeriod multipliedBy(final long multiplicand) {
+        if (multiplicand < 0) {
+            throw new IllegalArgumentException(String.format("Negative multiplicand: %d", multiplicand));
+        }
+        final long totalMilliseconds = toMillisOrNegative();
+        if (totalMilliseconds >= 0 && (multiplicand == 0 || totalMilliseconds <= Long.MAX_VALUE / multiplicand)) {
+            return new TimePeriod(totalMilliseconds * multiplicand, TimeUnit.MILLISECOND);
+        }
+        return fromMillis(toBigMillis().multiply(BigInteger.valueOf(multiplicand)));
+    }
+
+    /**
+     * @param divisor what to divide by
+     * @return a new TimePeriod that is this divided by divisor, truncated to a whole number of milliseconds
+     * @throws IllegalArgumentException if divisor is negative
+     * @throws ArithmeticException if divisor is 0
+     */
+    public TimePeriod dividedBy(final long divisor) {
+        if (divisor < 0) {
+            throw new IllegalArgumentException(String.format("Negative divisor: %d", divisor));
+        } else if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        final long totalMilliseconds = toMillisOrNegative();
+        if (totalMilliseconds >= 0) {
+            return new TimePeriod(totalMilliseconds / divisor, TimeUnit.MILLISECOND);
+        }
+        return fromMillis(toBigMillis().divide(BigInteger.valueOf(divisor)));
+    }
+
+    /**
+     * Compares the lengths of two TimePeriods without modifying either one, so shared instances can be compared from any
+     * number of threads
+     * @param other the period to compare to
+     * @return a negative number, 0, or a positive number if this is shorter than, the same length as, or longer than
+     * other
+     */
+    @Override
+    public int compareTo(final TimePeriod other) {
+        if (needsNormalization || other.needsNormalization) {
+            // compared without normalizing either one, so that shared instances are never written to
+            final int result = Long.compare(truncatedTo(TimeUnit.WEEK), other.truncatedTo(TimeUnit.WEEK));
+            return result != 0 ? result : Long.compare(millisecondsOfWeek(), other.millisecondsOfWeek());
+        }
+        int result = Long.compare(weeks, other.weeks);
+        if (result == 0) {
+            result = Long.compare(days, other.days);
+        }
+        if (result == 0) {
+            result = Long.compare(hours, other.hours);
+        }
+        if (result == 0) {
+            result = Long.compare(minutes, other.minutes);
+        }
+        if (result == 0) {
+            result = Long.compare(seconds, other.seconds);
+        }
+        if (result == 0) {
+            result = Long.compare(milliseconds, other.milliseconds);
+        }
+        return result;
+    }
+
+    private TimePeriod copy() {
+        return new TimePeriod(weeks, days, hours, minutes, seconds, milliseconds);
+    }
+
+    /**
+     * @return the length of this in milliseconds modulo one week, computed from the fields as they are, without
+     * normalizing this
+     */
+    private long millisecondsOfWeek() {
+        final long millisecondsPerWeek = TimeUnit.WEEK.getMillisecondsPerUnit();
+        long total = 0;
+        for (int i = 0; i < TimeUnit.WEEK.ordinal(); i++) {
+            // each term is less than a week, so the sum of all five can't overflow
+            final long millisecondsPerUnit = timeUnits[i].getMillisecondsPerUnit();
+            total += get(timeUnits[i]) % (millisecondsPerWeek / millisecondsPerUnit) * millisecondsPerUnit;
+        }
+        return total % millisecondsPerWeek;
+    }
+
+    /**
+     * @return the length of this in milliseconds, or -1 if it doesn't fit in a long
+     */
+    private long toMillisOrNegative() {
+        try {
+            return toMillis();
+        } catch (final ArithmeticException ae) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the length of this in milliseconds, for the rare periods that are too long for a long
+     */
+    private BigInteger toBigMillis() {
+        BigInteger total = BigInteger.valueOf(weeks);
+        total = total.multiply(BigInteger.valueOf(7)).add(BigInteger.valueOf(days));
+        total = total.multiply(BigInteger.valueOf(24)).add(BigInteger.valueOf(hours));
+        total = total.multiply(BigInteger.valueOf(60)).add(BigInteger.valueOf(minutes));
+        total = total.multiply(BigInteger.valueOf(60)).add(BigInteger.valueOf(seconds));
+        return total.multiply(BigInteger.valueOf(1000)).add(BigInteger.valueOf(milliseconds));
+    }
+
+    /**
+     * @param totalMilliseconds a non-negative length of time
+     * @return a normalized TimePeriod of that length
+     * @throws ArithmeticException if the number of weeks doesn't fit in a long
+     */
+    private static TimePeriod fromMillis(final BigInteger totalMilliseconds) {
+        final BigInteger[] weeksAndRemainder =
+            totalMilliseconds.divideAndRemainder(BigInteger.valueOf(TimeUnit.WEEK.getMillisecondsPerUnit()));
+        return new TimePeriod(weeksAndRemainder[0].longValueExact(), 0, 0, 0, 0, weeksAndRemainder[1].longValue());
+    }
+
     @Override
     public String toString() {
         return String.format("%d week(s), %d day(s), %d hour(s), %d minute(s), %d second(s), %d millisecond(s)",
@@ -276,7 +912,7 @@ public class TimePeriod {
     }
 
     public long getWeeks() {
-        return weeks;
+        return normalize().weeks;
     }
     long getDenormalizedWeeks() {
         return weeks;
@@ -284,6 +920,8 @@ public class TimePeriod {
     public TimePeriod setWeeks(final long weeks) {
         if (weeks >= 0) {
             this.weeks = weeks;
+            needsNormalization = true;
+            normalize();
         }
         return this;
     }
@@ -357,4 +995,83 @@ public class TimePeriod {
         }
         return this;
     }
+
+    /**
+     * Collects the fields of a TimePeriod and normalizes them once, in {@link com.adashrod.timeperiod.TimePeriod.Builder#build()},
+     * instead of once per field as the setters of TimePeriod do. A builder can be reused; each build() returns a new
+     * TimePeriod.
+     */
+    public static final class Builder {
+        private long weeks;
+        private long days;
+        private long hours;
+        private long minutes;
+        private long seconds;
+        private long milliseconds;
+
+        private Builder() {}
+
+        public Builder setWeeks(final long weeks) {
+            this.weeks = checkNonNegative(weeks);
+            return this;
+        }
+        public Builder setDays(final long days) {
+            this.days = checkNonNegative(days);
+            return this;
+        }
+        public Builder setHours(final long hours) {
+            this.hours = checkNonNegative(hours);
+            return this;
+        }
+        public Builder setMinutes(final long minutes) {
+            this.minutes = checkNonNegative(minutes);
+            return this;
+        }
+        public Builder setSeconds(final long seconds) {
+            this.seconds = checkNonNegative(seconds);
+            return this;
+        }
+        public Builder setMilliseconds(final long milliseconds) {
+            this.milliseconds = checkNonNegative(milliseconds);
+            return this;
+        }
+
+        /**
+         * @param amount how many units
+         * @param timeUnit which unit to set
+         * @return this
+         * @throws IllegalArgumentException if amount is negative
+         */
+        public Builder set(final long amount, final TimeUnit timeUnit) {
+            switch (timeUnit) {
+                case WEEK:
+                    return setWeeks(amount);
+                case DAY:
+                    return setDays(amount);
+                case HOUR:
+                    return setHours(amount);
+                case MINUTE:
+                    return setMinutes(amount);
+                case SECOND:
+                    return setSeconds(amount);
+                default:
+                    return setMilliseconds(amount);
+            }
+        }
+
+        /**
+         * @return a new, normalized TimePeriod with the values set so far
+         * @throws ArithmeticException if the result is too long to be represented
+         */
+        public TimePeriod build() {
+            return new TimePeriod().assign(weeks, days, hours, minutes, seconds, milliseconds);
+        }
+
+        private static long checkNonNegative(final long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException(String.format("Negative value: %d", value));
+            }
+            return value;
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package com.adashrod.timeperiod;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable array of periods of time, stored as one column of canonical millisecond counts rather than as individual
+ * {@link com.adashrod.timeperiod.TimePeriod} objects. This is meant for large batches of durations, e.g. per-span
+ * timings from traces, where per-element objects would dominate memory and time. Bulk operations run as simple loops
+ * over the primitive column that the JIT compiler can unroll; the loops of sumMillis, min, and max can also be
+ * vectorized where the hardware allows, but the ones that divide can't, since HotSpot doesn't vectorize long division.
+ * Elements can be formatted without creating objects by passing {@link com.adashrod.timeperiod.TimePeriodArray#getMillis(int)}
+ * to {@link com.adashrod.timeperiod.TimePeriodFormat#formatMillisTo(long, Appendable)}.
+ */
+public class TimePeriodArray {
+    private static final TimeUnit[] timeUnits = TimeUnit.values();
+
+    private long[] milliseconds;
+    private int size;
+
+    /**
+     * Constructs an empty TimePeriodArray
+     */
+    public TimePeriodArray() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty TimePeriodArray
+     * @param initialCapacity how many elements to make room for
+     */
+    public TimePeriodArray(final int initialCapacity) {
+        milliseconds = new long[initialCapacity];
+        size = 0;
+    }
+
+    /**
+     * Constructs a TimePeriodArray containing a copy of milliseconds
+     * @param milliseconds lengths of time in milliseconds
+     * @throws IllegalArgumentException if any value is negative
+     */
+    public TimePeriodArray(final long... milliseconds) {
+        for (final long value: milliseconds) {
+            checkNonNegative(value);
+        }
+        this.milliseconds = milliseconds.clone();
+        size = milliseconds.length;
+    }
+
+    /**
+     * @return how many elements are in the array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a period of time to the end of the array
+     * @param milliseconds the length of the period
+     * @return this
+     * @throws IllegalArgumentException if milliseconds is negative
+     */
+    public TimePeriodArray add(final long milliseconds) {
+        checkNonNegative(milliseconds);
+        if (size == this.milliseconds.length) {
+            this.milliseconds = Arrays.copyOf(this.milliseconds, Math.max(16, size * 2));
+        }
+        this.milliseconds[size++] = milliseconds;
+        return this;
+    }
+
+    /**
+     * Appends a period of time to the end of the array
+     * @param timePeriod the period to add
+     * @return this
+     * @throws ArithmeticException if timePeriod is too long to be represented in milliseconds in a long
+     */
+    public TimePeriodArray add(final TimePeriod timePeriod) {
+        return add(timePeriod.toMillis());
+    }
+
+    /**
+     * Appends a period of time to the end of the array
+     * @param timePeriod the period to add
+     * @return this
+     */
+    public TimePeriodArray add(final CompactTimePeriod timePeriod) {
+        return add(timePeriod.toMillis());
+    }
+
+    /**
+     * @param index which element to get
+     * @return the length of the element in milliseconds
+     */
+    public long getMillis(final int index) {
+        checkIndex(index);
+        return milliseconds[index];
+    }
+
+    /**
+     * @param index which element to set
+     * @param milliseconds the new length of the element
+     * @return this
+     */
+    public TimePeriodArray setMillis(final int index, final long milliseconds) {
+        checkIndex(index);
+        checkNonNegative(milliseconds);
+        this.milliseconds[index] = milliseconds;
+        return this;
+    }
+
+    /**
+     * @param index which element to get
+     * @return the element as a CompactTimePeriod
+     */
+    public CompactTimePeriod get(final int index) {
+        return CompactTimePeriod.ofMillis(getMillis(index));
+    }
+
+    /**
+     * Fills destination with the normalized value of timeUnit for every element, e.g. for HOUR, every value is in the
+     * range [0, 23].
+     * @param timeUnit which unit to extract
+     * @param destination an array with a length of at least size(), or null to have one created
+     * @return destination
+     */
+    public long[] normalize(final TimeUnit timeUnit, final long[] destination) {
+        final long[] result = destinationFor(destination);
+        final long divisor = timeUnit.getMillisecondsPerUnit();
+        if (timeUnit == TimeUnit.WEEK) {
+            for (int i = 0; i < size; i++) {
+                result[i] = milliseconds[i] / divisor;
+            }
+        } else {
+            final long modulus = timeUnits[timeUnit.ordinal() + 1].getMillisecondsPerUnit() / divisor;
+            for (int i = 0; i < size; i++) {
+                result[i] = milliseconds[i] / divisor % modulus;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills destination with the total length of every element in units of largestAllowed, i.e. the value that
+     * largestAllowed has after {@link com.adashrod.timeperiod.TimePeriod#denormalize(TimeUnit)}. E.g. for HOUR, an
+     * element of 2 days, 3 hours, 30 minutes becomes 51. Combined with
+     * {@link com.adashrod.timeperiod.TimePeriodArray#normalize(TimeUnit, long[])} for the smaller units, this gives the
+     * full de-normalized form of every element.
+     * @param largestAllowed the largest TimeUnit that isn't zeroed out
+     * @param destination an array with a length of at least size(), or null to have one created
+     * @return destination
+     */
+    public long[] denormalize(final TimeUnit largestAllowed, final long[] destination) {
+        final long[] result = destinationFor(destination);
+        final long divisor = largestAllowed.getMillisecondsPerUnit();
+        for (int i = 0; i < size; i++) {
+            result[i] = milliseconds[i] / divisor;
+        }
+        return result;
+    }
+
+    /**
+     * @return the sum of all elements in milliseconds
+     * @throws ArithmeticException if the sum doesn't fit in a long
+     */
+    public long sumMillis() {
+        // since every element is non-negative, the high and low 32 bits can be summed separately without any chance of
+        // overflow for up to 2^31 elements; this keeps the loop free of overflow checks so that it can be vectorized
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < size; i++) {
+            high += milliseconds[i] >>> 32;
+            low += milliseconds[i] & 0xFFFFFFFFL;
+        }
+        return Math.addExact(Math.multiplyExact(high, 1L << 32), low);
+    }
+
+    /**
+     * @return the sum of all elements
+     * @throws ArithmeticException if the sum doesn't fit in a long
+     */
+    public CompactTimePeriod sum() {
+        return CompactTimePeriod.ofMillis(sumMillis());
+    }
+
+    /**
+     * @return the shortest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public CompactTimePeriod min() {
+        checkNotEmpty();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, milliseconds[i]);
+        }
+        return CompactTimePeriod.ofMillis(min);
+    }
+
+    /**
+     * @return the longest element
+     * @throws NoSuchElementException if the array is empty
+     */
+    public CompactTimePeriod max() {
+        checkNotEmpty();
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, milliseconds[i]);
+        }
+        return CompactTimePeriod.ofMillis(max);
+    }
+
+    /**
+     * @return a copy of the elements in milliseconds
+     */
+    public long[] toMillisArray() {
+        return Arrays.copyOf(milliseconds, size);
+    }
+
+    private long[] destinationFor(final long[] destination) {
+        if (destination == null) {
+            return new long[size];
+        } else if (destination.length < size) {
+            throw new IllegalArgumentException(String.format("destination has length %d, but %d is needed",
+                destination.length, size));
+        }
+        return destination;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("TimePeriodArray is empty");
+        }
+    }
+
+    private static void checkNonNegative(final long milliseconds) {
+        if (milliseconds < 0) {
+            throw new IllegalArgumentException(String.format("A time period can't be negative: %d", milliseconds));
+        }
+    }
+}
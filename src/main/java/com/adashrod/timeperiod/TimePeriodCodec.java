@@ -0,0 +1,559 @@
+package com.adashrod.timeperiod;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A compact binary encoding for {@link com.adashrod.timeperiod.TimePeriod}s, for storing them or sending them between
+ * services without formatting and parsing text.
+ *
+ * Every encoded value starts with an unsigned LEB128 varint header (7 bits per byte, least significant group first,
+ * high bit set on every byte but the last). If the low bit of the header is 0, the rest of the header is the length of
+ * the period in milliseconds; e.g. 90 seconds is 3 bytes. If the low bit is 1, the period is in unit-layout form: bits
+ * 1-6 of the header are a mask of which units are present (bit 1 + {@link java.lang.Enum#ordinal()} of the TimeUnit)
+ * and the header is followed by one varint per present unit, from largest to smallest. The layout form is written for
+ * periods that are de-normalized, e.g. 219 hours, and for periods that are too long to be represented in milliseconds
+ * in a long. It stores the raw value of every field, and decoding it restores those values without normalizing them, so
+ * 219 hours comes back as 219 hours rather than 1 week, 2 days, 3 hours.
+ *
+ * Decoding allocates nothing other than the resulting TimePeriod. Malformed input causes an
+ * {@link java.lang.IllegalArgumentException}.
+ */
+public final class TimePeriodCodec {
+    /**
+     * the most bytes that a single encoded TimePeriod can take up: a 1-byte header and six 10-byte varints
+     */
+    public static final int maxEncodedLength = 61;
+
+    private static final int layoutFlag = 1;
+    private static final int maxMask = (1 << 6) - 1;
+    private static final TimeUnit[] timeUnits = TimeUnit.values();
+
+    private TimePeriodCodec() {}
+
+    /**
+     * @param milliseconds a non-negative length of time
+     * @return how many bytes encoding milliseconds will take up
+     */
+    public static int encodedLength(final long milliseconds) {
+        return varintLength(checkMillis(milliseconds) << 1);
+    }
+
+    /**
+     * @param timePeriod the period to measure
+     * @return how many bytes encoding timePeriod will take up
+     */
+    public static int encodedLength(final TimePeriod timePeriod) {
+        final long milliseconds = canonicalMillis(timePeriod);
+        if (milliseconds >= 0) {
+            return varintLength(milliseconds << 1);
+        }
+        int length = 1;
+        for (final TimeUnit timeUnit: timeUnits) {
+            final long value = timePeriod.get(timeUnit);
+            if (value != 0) {
+                length += varintLength(value);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @param timePeriod the period to encode
+     * @return a new array containing exactly the encoding of timePeriod
+     */
+    public static byte[] encode(final TimePeriod timePeriod) {
+        final byte[] bytes = new byte[encodedLength(timePeriod)];
+        encode(timePeriod, bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Encodes timePeriod into dest
+     * @param timePeriod the period to encode
+     * @param dest       where to write
+     * @param offset     index in dest to start writing at
+     * @return the index after the last byte written
+     * @throws ArrayIndexOutOfBoundsException if dest doesn't have room
+     */
+    public static int encode(final TimePeriod timePeriod, final byte[] dest, final int offset) {
+        final long milliseconds = canonicalMillis(timePeriod);
+        if (milliseconds >= 0) {
+            return putVarint(milliseconds << 1, dest, offset);
+        }
+        final int mask = mask(timePeriod);
+        int position = putVarint(mask << 1 | layoutFlag, dest, offset);
+        for (int i = timeUnits.length - 1; i >= 0; i--) {
+            if ((mask & 1 << i) != 0) {
+                position = putVarint(timePeriod.get(timeUnits[i]), dest, position);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Encodes timePeriod at the position of dest and advances the position
+     * @param timePeriod the period to encode
+     * @param dest       where to write
+     * @throws java.nio.BufferOverflowException if dest doesn't have room
+     */
+    public static void encode(final TimePeriod timePeriod, final ByteBuffer dest) {
+        final long milliseconds = canonicalMillis(timePeriod);
+        if (milliseconds >= 0) {
+            putVarint(milliseconds << 1, dest);
+            return;
+        }
+        final int mask = mask(timePeriod);
+        putVarint(mask << 1 | layoutFlag, dest);
+        for (int i = timeUnits.length - 1; i >= 0; i--) {
+            if ((mask & 1 << i) != 0) {
+                putVarint(timePeriod.get(timeUnits[i]), dest);
+            }
+        }
+    }
+
+    /**
+     * Encodes timePeriod to out
+     * @param timePeriod the period to encode
+     * @param out        where to write
+     * @throws IOException if out throws one
+     */
+    public static void encode(final TimePeriod timePeriod, final DataOutput out) throws IOException {
+        final long milliseconds = canonicalMillis(timePeriod);
+        if (milliseconds >= 0) {
+            writeVarint(milliseconds << 1, out);
+            return;
+        }
+        final int mask = mask(timePeriod);
+        writeVarint(mask << 1 | layoutFlag, out);
+        for (int i = timeUnits.length - 1; i >= 0; i--) {
+            if ((mask & 1 << i) != 0) {
+                writeVarint(timePeriod.get(timeUnits[i]), out);
+            }
+        }
+    }
+
+    /**
+     * Encodes a length of time given in milliseconds, e.g. from a {@link com.adashrod.timeperiod.CompactTimePeriod}
+     * or a {@link com.adashrod.timeperiod.TimePeriodArray}
+     * @param milliseconds a non-negative length of time
+     * @param dest         where to write
+     * @param offset       index in dest to start writing at
+     * @return the index after the last byte written
+     */
+    public static int encodeMillis(final long milliseconds, final byte[] dest, final int offset) {
+        return putVarint(checkMillis(milliseconds) << 1, dest, offset);
+    }
+
+    /**
+     * Encodes a length of time given in milliseconds at the position of dest and advances the position
+     * @param milliseconds a non-negative length of time
+     * @param dest         where to write
+     */
+    public static void encodeMillis(final long milliseconds, final ByteBuffer dest) {
+        putVarint(checkMillis(milliseconds) << 1, dest);
+    }
+
+    /**
+     * Encodes a length of time given in milliseconds to out
+     * @param milliseconds a non-negative length of time
+     * @param out          where to write
+     * @throws IOException if out throws one
+     */
+    public static void encodeMillis(final long milliseconds, final DataOutput out) throws IOException {
+        writeVarint(checkMillis(milliseconds) << 1, out);
+    }
+
+    /**
+     * Encodes every element of timePeriods, one after another
+     * @param timePeriods the periods to encode
+     * @return a new array containing exactly the encodings
+     */
+    public static byte[] encodeAll(final TimePeriod[] timePeriods) {
+        int length = 0;
+        for (final TimePeriod timePeriod: timePeriods) {
+            length += encodedLength(timePeriod);
+        }
+        final byte[] bytes = new byte[length];
+        int position = 0;
+        for (final TimePeriod timePeriod: timePeriods) {
+            position = encode(timePeriod, bytes, position);
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes every element of milliseconds, one after another
+     * @param milliseconds non-negative lengths of time
+     * @return a new array containing exactly the encodings
+     */
+    public static byte[] encodeAll(final long[] milliseconds) {
+        int length = 0;
+        for (final long value: milliseconds) {
+            length += encodedLength(value);
+        }
+        final byte[] bytes = new byte[length];
+        int position = 0;
+        for (final long value: milliseconds) {
+            position = putVarint(value << 1, bytes, position);
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes every element of timePeriods at the position of dest, one after another
+     * @param timePeriods the periods to encode
+     * @param dest        where to write
+     */
+    public static void encodeAll(final TimePeriod[] timePeriods, final ByteBuffer dest) {
+        for (final TimePeriod timePeriod: timePeriods) {
+            encode(timePeriod, dest);
+        }
+    }
+
+    /**
+     * Encodes every element of milliseconds at the position of dest, one after another
+     * @param milliseconds non-negative lengths of time
+     * @param dest         where to write
+     */
+    public static void encodeAll(final long[] milliseconds, final ByteBuffer dest) {
+        for (final long value: milliseconds) {
+            encodeMillis(value, dest);
+        }
+    }
+
+    /**
+     * @param bytes exactly one encoded TimePeriod
+     * @return the decoded TimePeriod
+     * @throws IllegalArgumentException if bytes is malformed or has extra bytes at the end
+     */
+    public static TimePeriod decode(final byte[] bytes) {
+        final TimePeriod result = new TimePeriod();
+        final long header = getVarint(bytes, 0);
+        int position = varintLength(header);
+        if ((header & layoutFlag) == 0) {
+            result.set(TimeUnit.MILLISECOND, header >>> 1);
+        } else {
+            final int mask = checkMask(header);
+            final long weeks = layoutField(bytes, position, mask, TimeUnit.WEEK);
+            position += layoutFieldLength(mask, TimeUnit.WEEK, weeks);
+            final long days = layoutField(bytes, position, mask, TimeUnit.DAY);
+            position += layoutFieldLength(mask, TimeUnit.DAY, days);
+            final long hours = layoutField(bytes, position, mask, TimeUnit.HOUR);
+            position += layoutFieldLength(mask, TimeUnit.HOUR, hours);
+            final long minutes = layoutField(bytes, position, mask, TimeUnit.MINUTE);
+            position += layoutFieldLength(mask, TimeUnit.MINUTE, minutes);
+            final long seconds = layoutField(bytes, position, mask, TimeUnit.SECOND);
+            position += layoutFieldLength(mask, TimeUnit.SECOND, seconds);
+            final long milliseconds = layoutField(bytes, position, mask, TimeUnit.MILLISECOND);
+            position += layoutFieldLength(mask, TimeUnit.MILLISECOND, milliseconds);
+            setLayout(result, weeks, days, hours, minutes, seconds, milliseconds);
+        }
+        if (position != bytes.length) {
+            throw new IllegalArgumentException("Encountered extra bytes after encoded TimePeriod");
+        }
+        return result;
+    }
+
+    /**
+     * Decodes one TimePeriod at the position of src and advances the position past it
+     * @param src where to read
+     * @return the decoded TimePeriod
+     * @throws IllegalArgumentException if the encoding is malformed
+     * @throws java.nio.BufferUnderflowException if src ends in the middle of an encoding
+     */
+    public static TimePeriod decode(final ByteBuffer src) {
+        final TimePeriod result = new TimePeriod();
+        final long header = getVarint(src);
+        if ((header & layoutFlag) == 0) {
+            return result.set(TimeUnit.MILLISECOND, header >>> 1);
+        }
+        final int mask = checkMask(header);
+        final long weeks = layoutField(src, mask, TimeUnit.WEEK);
+        final long days = layoutField(src, mask, TimeUnit.DAY);
+        final long hours = layoutField(src, mask, TimeUnit.HOUR);
+        final long minutes = layoutField(src, mask, TimeUnit.MINUTE);
+        final long seconds = layoutField(src, mask, TimeUnit.SECOND);
+        return setLayout(result, weeks, days, hours, minutes, seconds, layoutField(src, mask, TimeUnit.MILLISECOND));
+    }
+
+    /**
+     * Decodes one TimePeriod from in
+     * @param in where to read
+     * @return the decoded TimePeriod
+     * @throws IOException if in throws one, e.g. {@link java.io.EOFException} if it ends in the middle of an encoding
+     * @throws IllegalArgumentException if the encoding is malformed
+     */
+    public static TimePeriod decode(final DataInput in) throws IOException {
+        final TimePeriod result = new TimePeriod();
+        final long header = readVarint(in);
+        if ((header & layoutFlag) == 0) {
+            return result.set(TimeUnit.MILLISECOND, header >>> 1);
+        }
+        final int mask = checkMask(header);
+        final long weeks = layoutField(in, mask, TimeUnit.WEEK);
+        final long days = layoutField(in, mask, TimeUnit.DAY);
+        final long hours = layoutField(in, mask, TimeUnit.HOUR);
+        final long minutes = layoutField(in, mask, TimeUnit.MINUTE);
+        final long seconds = layoutField(in, mask, TimeUnit.SECOND);
+        return setLayout(result, weeks, days, hours, minutes, seconds, layoutField(in, mask, TimeUnit.MILLISECOND));
+    }
+
+    /**
+     * Decodes one TimePeriod at the position of src as a number of milliseconds and advances the position past it
+     * @param src where to read
+     * @return the length of the decoded TimePeriod in milliseconds
+     * @throws IllegalArgumentException if the encoding is malformed
+     * @throws ArithmeticException if the encoded TimePeriod is too long to be represented in milliseconds in a long
+     */
+    public static long decodeMillis(final ByteBuffer src) {
+        final long header = getVarint(src);
+        if ((header & layoutFlag) == 0) {
+            return header >>> 1;
+        }
+        final int mask = checkMask(header);
+        long total = 0;
+        for (int i = timeUnits.length - 1; i >= 0; i--) {
+            if ((mask & 1 << i) != 0) {
+                total = Math.addExact(total, Math.multiplyExact(checkField(getVarint(src)),
+                    timeUnits[i].getMillisecondsPerUnit()));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Decodes one TimePeriod from in as a number of milliseconds
+     * @param in where to read
+     * @return the length of the decoded TimePeriod in milliseconds
+     * @throws IOException if in throws one
+     * @throws IllegalArgumentException if the encoding is malformed
+     * @throws ArithmeticException if the encoded TimePeriod is too long to be represented in milliseconds in a long
+     */
+    public static long decodeMillis(final DataInput in) throws IOException {
+        final long header = readVarint(in);
+        if ((header & layoutFlag) == 0) {
+            return header >>> 1;
+        }
+        final int mask = checkMask(header);
+        long total = 0;
+        for (int i = timeUnits.length - 1; i >= 0; i--) {
+            if ((mask & 1 << i) != 0) {
+                total = Math.addExact(total, Math.multiplyExact(checkField(readVarint(in)),
+                    timeUnits[i].getMillisecondsPerUnit()));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Decodes dest.length TimePeriods from the position of src into dest
+     * @param src  where to read
+     * @param dest where to store the results
+     */
+    public static void decodeAll(final ByteBuffer src, final TimePeriod[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = decode(src);
+        }
+    }
+
+    /**
+     * Decodes dest.length TimePeriods from the position of src into dest as numbers of milliseconds. This allocates
+     * nothing.
+     * @param src  where to read
+     * @param dest where to store the results
+     */
+    public static void decodeAll(final ByteBuffer src, final long[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = decodeMillis(src);
+        }
+    }
+
+    /**
+     * @return the length of timePeriod in milliseconds, or -1 if it has to be written in unit-layout form because it's
+     * de-normalized or doesn't fit in a long
+     */
+    private static long canonicalMillis(final TimePeriod timePeriod) {
+        if (!isNormalized(timePeriod)) {
+            return -1;
+        }
+        try {
+            return timePeriod.toMillis();
+        } catch (final ArithmeticException ae) {
+            return -1;
+        }
+    }
+
+    /**
+     * Checks the raw fields, since the getters would normalize timePeriod
+     */
+    private static boolean isNormalized(final TimePeriod timePeriod) {
+        return timePeriod.get(TimeUnit.MILLISECOND) < 1000 && timePeriod.get(TimeUnit.SECOND) < 60 &&
+            timePeriod.get(TimeUnit.MINUTE) < 60 && timePeriod.get(TimeUnit.HOUR) < 24 &&
+            timePeriod.get(TimeUnit.DAY) < 7;
+    }
+
+    private static int mask(final TimePeriod timePeriod) {
+        int mask = 0;
+        for (final TimeUnit timeUnit: timeUnits) {
+            if (timePeriod.get(timeUnit) != 0) {
+                mask |= 1 << timeUnit.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private static long checkMillis(final long milliseconds) {
+        if (milliseconds < 0) {
+            throw new IllegalArgumentException(String.format("Negative length of time: %d", milliseconds));
+        }
+        return milliseconds;
+    }
+
+    private static int checkMask(final long header) {
+        if (header >>> 1 > maxMask) {
+            throw new IllegalArgumentException(String.format("Invalid unit layout header: %d", header));
+        }
+        return (int) (header >>> 1);
+    }
+
+    /**
+     * @return the value of timeUnit in a unit layout starting at bytes[offset], or 0 if mask doesn't include it
+     */
+    private static long layoutField(final byte[] bytes, final int offset, final int mask, final TimeUnit timeUnit) {
+        return (mask & 1 << timeUnit.ordinal()) != 0 ? checkField(getVarint(bytes, offset)) : 0;
+    }
+
+    /**
+     * @return how many bytes the value of timeUnit takes up in a unit layout, or 0 if mask doesn't include it
+     */
+    private static int layoutFieldLength(final int mask, final TimeUnit timeUnit, final long value) {
+        return (mask & 1 << timeUnit.ordinal()) != 0 ? varintLength(value) : 0;
+    }
+
+    /**
+     * @return the value of timeUnit in a unit layout at the position of src, or 0 if mask doesn't include it
+     */
+    private static long layoutField(final ByteBuffer src, final int mask, final TimeUnit timeUnit) {
+        return (mask & 1 << timeUnit.ordinal()) != 0 ? checkField(getVarint(src)) : 0;
+    }
+
+    /**
+     * @return the value of timeUnit in a unit layout read from in, or 0 if mask doesn't include it
+     */
+    private static long layoutField(final DataInput in, final int mask, final TimeUnit timeUnit) throws IOException {
+        return (mask & 1 << timeUnit.ordinal()) != 0 ? checkField(readVarint(in)) : 0;
+    }
+
+    /**
+     * Sets every field of result from a unit layout at once, keeping the raw values so that de-normalized periods
+     * round trip exactly
+     * @return result
+     * @throws IllegalArgumentException if the fields together are too long to be represented
+     */
+    private static TimePeriod setLayout(final TimePeriod result, final long weeks, final long days, final long hours,
+            final long minutes, final long seconds, final long milliseconds) {
+        try {
+            return result.setDenormalized(weeks, days, hours, minutes, seconds, milliseconds);
+        } catch (final ArithmeticException ae) {
+            throw new IllegalArgumentException("Unit layout is too long to be represented as a TimePeriod", ae);
+        }
+    }
+
+    private static long checkField(final long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(String.format("Invalid field value: %s", Long.toUnsignedString(value)));
+        }
+        return value;
+    }
+
+    /**
+     * @param value an unsigned long
+     * @return how many bytes the varint encoding of value takes up
+     */
+    static int varintLength(final long value) {
+        // each byte holds 7 bits; 0 still takes 1 byte
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static int putVarint(long value, final byte[] dest, int offset) {
+        while ((value & ~0x7fL) != 0) {
+            dest[offset++] = (byte) (value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        dest[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static void putVarint(long value, final ByteBuffer dest) {
+        while ((value & ~0x7fL) != 0) {
+            dest.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        dest.put((byte) value);
+    }
+
+    private static void writeVarint(long value, final DataOutput out) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a varint starting at bytes[offset]. Only the shortest encoding of each value is accepted, so the number of
+     * bytes read is always {@link com.adashrod.timeperiod.TimePeriodCodec#varintLength(long)} of the result.
+     */
+    private static long getVarint(final byte[] bytes, final int offset) {
+        long value = 0;
+        for (int i = 0; i < 10; i++) {
+            if (offset + i >= bytes.length) {
+                throw new IllegalArgumentException("Encountered end of input in the middle of an encoded TimePeriod");
+            }
+            final byte b = bytes[offset + i];
+            value = accumulate(value, b, i);
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+
+    private static long getVarint(final ByteBuffer src) {
+        long value = 0;
+        for (int i = 0; i < 10; i++) {
+            final byte b = src.get();
+            value = accumulate(value, b, i);
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+
+    private static long readVarint(final DataInput in) throws IOException {
+        long value = 0;
+        for (int i = 0; i < 10; i++) {
+            final byte b = in.readByte();
+            value = accumulate(value, b, i);
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+
+    /**
+     * Adds the 7 data bits of the index-th byte of a varint to value, rejecting overlong encodings (a final byte of 0
+     * after the first byte) and bits past the 64th
+     */
+    private static long accumulate(final long value, final byte b, final int index) {
+        if (index > 0 && b == 0 || index == 9 && (b & 0xfe) != 0) {
+            throw new IllegalArgumentException("Malformed varint");
+        }
+        return value | (long) (b & 0x7f) << 7 * index;
+    }
+}
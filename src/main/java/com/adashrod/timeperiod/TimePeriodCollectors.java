@@ -0,0 +1,65 @@
+package com.adashrod.timeperiod;
+
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * {@link java.util.stream.Collector}s for aggregating streams of {@link com.adashrod.timeperiod.TimePeriod}s. They all
+ * accumulate into a {@link com.adashrod.timeperiod.TimePeriodSummaryStatistics}, which works on primitive longs and
+ * has an associative combiner, so they work well with parallel streams. Results are normalized TimePeriods.
+ * E.g.
+ *      TimePeriod total = timings.parallelStream().collect(TimePeriodCollectors.summing());
+ */
+public final class TimePeriodCollectors {
+    /**
+     * shared by every collector; the overload of Collector.of without a finisher adds IDENTITY_FINISH on its own
+     */
+    private static final Collector.Characteristics[] characteristics = {Collector.Characteristics.UNORDERED};
+
+    private TimePeriodCollectors() {}
+
+    /**
+     * @return a Collector that computes statistics for all of its input
+     */
+    public static Collector<TimePeriod, ?, TimePeriodSummaryStatistics> summarizing() {
+        return Collector.of(TimePeriodSummaryStatistics::new, TimePeriodSummaryStatistics::accept,
+            TimePeriodSummaryStatistics::combine, characteristics);
+    }
+
+    /**
+     * @return a Collector that sums all of its input; the result of an empty stream has length 0
+     */
+    public static Collector<TimePeriod, ?, TimePeriod> summing() {
+        return Collector.of(TimePeriodSummaryStatistics::new, TimePeriodSummaryStatistics::accept,
+            TimePeriodSummaryStatistics::combine, TimePeriodSummaryStatistics::getSum, characteristics);
+    }
+
+    /**
+     * @return a Collector that computes the mean of all of its input, truncated to a whole number of milliseconds;
+     * the result of an empty stream has length 0
+     */
+    public static Collector<TimePeriod, ?, TimePeriod> averaging() {
+        return Collector.of(TimePeriodSummaryStatistics::new, TimePeriodSummaryStatistics::accept,
+            TimePeriodSummaryStatistics::combine, TimePeriodSummaryStatistics::getAverage, characteristics);
+    }
+
+    /**
+     * @return a Collector that finds the shortest TimePeriod, or an empty Optional for an empty stream
+     */
+    public static Collector<TimePeriod, ?, Optional<TimePeriod>> min() {
+        return Collector.of(TimePeriodSummaryStatistics::new, TimePeriodSummaryStatistics::accept,
+            TimePeriodSummaryStatistics::combine, (final TimePeriodSummaryStatistics statistics) ->
+                statistics.getCount() == 0 ? Optional.<TimePeriod>empty() : Optional.of(statistics.getMin()),
+            characteristics);
+    }
+
+    /**
+     * @return a Collector that finds the longest TimePeriod, or an empty Optional for an empty stream
+     */
+    public static Collector<TimePeriod, ?, Optional<TimePeriod>> max() {
+        return Collector.of(TimePeriodSummaryStatistics::new, TimePeriodSummaryStatistics::accept,
+            TimePeriodSummaryStatistics::combine, (final TimePeriodSummaryStatistics statistics) ->
+                statistics.getCount() == 0 ? Optional.<TimePeriod>empty() : Optional.of(statistics.getMax()),
+            characteristics);
+    }
+}
@@ -1,13 +1,15 @@
 package com.adashrod.timeperiod;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Used for parsing Strings and turning them into {@link com.adashrod.timeperiod.TimePeriod}s and for formatting
@@ -86,22 +88,58 @@ import java.util.stream.Collectors;
  *  pattern "h HH, m MM, s SS", format output: "16 hours, 2 minutes, 1 second"
  *  pattern "h HH, m MM, 'and' s SS", format output: "16 hours, 2 minutes, and 1 second"
  *
- *  TimePeriodFormat does not currently support other locales.
+ * Unit names are English unless a locale is passed to
+ * {@link com.adashrod.timeperiod.TimePeriodFormat#TimePeriodFormat(String, Locale)}, e.g. with {@link java.util.Locale#GERMAN}
+ * the pattern "h HH" formats as "2 Stunden". The names of each locale are loaded once, the first time the locale is
+ * used, and compiled into the format the same way English names are, so localized formatting and parsing cost the same
+ * as English.
+ *
+ * Formatting and parsing never modify the TimePeriods passed in, so a TimePeriodFormat can be used by multiple threads
+ * as long as {@link com.adashrod.timeperiod.TimePeriodFormat#setMaxUnit(TimeUnit)} isn't being called concurrently. To
+ * share a format across threads without that caveat, use {@link com.adashrod.timeperiod.TimePeriodFormat#freeze()}
+ * to get an immutable copy. {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String)} returns frozen formats
+ * from a shared cache, which avoids compiling the same pattern over and over.
  */
 public class TimePeriodFormat {
-    private TimeUnit maxTimeUnit;
+    private static final int defaultCacheCapacity = 256;
+    /**
+     * the max number of formats kept by {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String, TimeUnit)}
+     */
+    private static final int cacheCapacity =
+        checkCacheCapacity(Integer.getInteger("com.adashrod.timeperiod.formatCacheSize"));
+    /**
+     * how many elements each task formats in
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#formatAllParallel(TimePeriod[], CharSequence, Appendable, ForkJoinPool)}
+     */
+    static final int parallelChunkSize = 16384;
+
+    private volatile TimeUnit maxTimeUnit;
     /**
-     * passed as first argument to String.format() in {@link com.adashrod.timeperiod.TimePeriodFormat#format(TimePeriod)}
+     * the format string this was compiled from
      */
-    private final String compiledFormatString;
+    private final String pattern;
     /**
-     * Used for evaluating values to get arguments to pass to String.format()
+     * the locale of the unit names
      */
-    private final List<Evaluator> evaluators = new ArrayList<>();
+    private final Locale locale;
     /**
-     * Used for reading tokens in {@link com.adashrod.timeperiod.TimePeriodFormat#parse(String)}
+     * true if this is an immutable copy made by {@link com.adashrod.timeperiod.TimePeriodFormat#freeze()}
      */
-    private final List<Reader> readers = new ArrayList<>();
+    private final boolean frozen;
+    /**
+     * The compiled formatting program: a flat sequence of literal and field ops that are executed in order by
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#formatTo(TimePeriod, Appendable)}
+     */
+    private final Evaluator[] evaluators;
+    /**
+     * a guess at the length of a formatted string, used for sizing buffers in
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#format(TimePeriod)}
+     */
+    private final int estimatedLength;
+    /**
+     * Used for reading tokens in {@link com.adashrod.timeperiod.TimePeriodFormat#parse(CharSequence, ParsePosition)}
+     */
+    private final Reader[] readers;
 
     private static final char weekChar = 'w';
     private static final char dayChar = 'd';
@@ -115,42 +153,70 @@ public class TimePeriodFormat {
     private static final char minuteStringChar = 'M';
     private static final char secondStringChar = 'S';
     private static final char millisecondStringChar = 'Z';
-    private static final Set<Character> numberFormatChars = new HashSet<>();
-    private static final Set<Character> unitFormatChars = new HashSet<>();
-    /**
-     * maximum acceptable lengths of numbers for each unit type
-     */
-    private static final Map<Character, Integer> maxLengths = new HashMap<>();
-    private static final Map<Character, TimeUnit> unitMap = new HashMap<>();
-    private static final Set<Character> regexSpecialChars = new HashSet<>();
-
-    static {
-        numberFormatChars.add(weekChar);
-        numberFormatChars.add(dayChar);
-        numberFormatChars.add(hourChar);
-        numberFormatChars.add(minuteChar);
-        numberFormatChars.add(secondChar);
-        numberFormatChars.add(millisecondChar);
-        unitFormatChars.add(weekStringChar);
-        unitFormatChars.add(dayStringChar);
-        unitFormatChars.add(hourStringChar);
-        unitFormatChars.add(minuteStringChar);
-        unitFormatChars.add(secondStringChar);
-        unitFormatChars.add(millisecondStringChar);
-        maxLengths.put(weekChar, null);
-        maxLengths.put(dayChar, 1);
-        maxLengths.put(hourChar, 2);
-        maxLengths.put(minuteChar, 2);
-        maxLengths.put(secondChar, 2);
-        maxLengths.put(millisecondChar, 3);
-        unitMap.put(weekStringChar, TimeUnit.WEEK);
-        unitMap.put(dayStringChar, TimeUnit.DAY);
-        unitMap.put(hourStringChar, TimeUnit.HOUR);
-        unitMap.put(minuteStringChar, TimeUnit.MINUTE);
-        unitMap.put(secondStringChar, TimeUnit.SECOND);
-        unitMap.put(millisecondStringChar, TimeUnit.MILLISECOND);
-        for (final char c: "$^*()[]{}.".toCharArray()) {
-            regexSpecialChars.add(c);
+
+    /**
+     * Holds the cache used by {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String, TimeUnit)}, so that it
+     * isn't created until ofPattern is first called
+     */
+    private static class CacheHolder {
+        private static final FormatCache cache = new FormatCache(cacheCapacity);
+    }
+
+    /**
+     * @param configured the value of the cache size system property, or null if it isn't set or isn't a number
+     * @return configured, or the default if it's missing or less than 1, so that a bad property can't make
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String)} unusable
+     */
+    static int checkCacheCapacity(final Integer configured) {
+        return configured != null && configured >= 1 ? configured : defaultCacheCapacity;
+    }
+
+    /**
+     * @param c a char of a format string
+     * @return the unit that c stands for, either as a number (lower case) or a unit name (upper case), or null if c
+     * isn't a pattern letter
+     */
+    private static TimeUnit unitOf(final char c) {
+        switch (c) {
+            case weekChar:
+            case weekStringChar:
+                return TimeUnit.WEEK;
+            case dayChar:
+            case dayStringChar:
+                return TimeUnit.DAY;
+            case hourChar:
+            case hourStringChar:
+                return TimeUnit.HOUR;
+            case minuteChar:
+            case minuteStringChar:
+                return TimeUnit.MINUTE;
+            case secondChar:
+            case secondStringChar:
+                return TimeUnit.SECOND;
+            case millisecondChar:
+            case millisecondStringChar:
+                return TimeUnit.MILLISECOND;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param field a number pattern letter
+     * @return the max number of digits needed for the max normalized value of the field's unit; weeks have no max
+     */
+    private static int maxLength(final char field) {
+        switch (field) {
+            case dayChar:
+                return 1;
+            case hourChar:
+            case minuteChar:
+            case secondChar:
+                return 2;
+            case millisecondChar:
+                return 3;
+            default:
+                return Integer.MAX_VALUE;
         }
     }
 
@@ -160,17 +226,32 @@ public class TimePeriodFormat {
      *                     for details.
      */
     public TimePeriodFormat(final String formatString) {
-        final StringBuilder templateBuilder = new StringBuilder();
+        this(formatString, UnitNames.english(), Locale.ENGLISH);
+    }
+
+    /**
+     * Builds a TimePeriodFormat using the formatString as a template and the unit names of locale. A locale with no
+     * names of its own uses English.
+     * @param formatString a string describing the format for parsing and formatting. See the class-level description
+     *                     for details.
+     * @param locale the locale of unit names when formatting and parsing
+     */
+    public TimePeriodFormat(final String formatString, final Locale locale) {
+        this(formatString, UnitNames.forLocale(locale), locale);
+    }
+
+    private TimePeriodFormat(final String formatString, final UnitNames unitNames, final Locale locale) {
+        final List<Evaluator> evaluatorList = new ArrayList<>();
+        final List<Reader> readerList = new ArrayList<>();
+        final StringBuilder literalBuilder = new StringBuilder();
         for (int i = 0; i < formatString.length(); i++) {
             final char c = formatString.charAt(i);
             if (c == '\'') {
-                final StringBuilder readerBuilder = new StringBuilder();
                 while (i + 1 < formatString.length()) {
                     final char nextC = formatString.charAt(i + 1);
                     if (nextC != '\'') {
                         // capturing a string within single quotes
-                        templateBuilder.append(nextC);
-                        readerBuilder.append(nextC);
+                        literalBuilder.append(nextC);
                         i++;
                     } else {
                         if (i + 2 == formatString.length() || formatString.charAt(i + 2) != '\'') {
@@ -179,47 +260,120 @@ public class TimePeriodFormat {
                             break;
                         } else {
                             // found two single quotes in a row within a single-quoted string- literal single quote
-                            templateBuilder.append('\'');
-                            readerBuilder.append('\'');
+                            literalBuilder.append('\'');
                             i += 2;
                         }
                     }
                 }
-                readers.add(new Reader(readerBuilder.toString()));
-            } else if (numberFormatChars.contains(c)) {
+                continue;
+            }
+            final TimeUnit timeUnit = unitOf(c);
+            if (timeUnit != null && Character.isLowerCase(c)) {
                 int length = 1;
                 while (i + 1 < formatString.length() && formatString.charAt(i + 1) == c) {
                     length++;
                     i++;
                 }
-                templateBuilder.append("%s");
-                evaluators.add(new Evaluator(length, c));
-                readers.add(new Reader(length, c));
-            } else if (unitFormatChars.contains(c)) {
+                flushLiteral(literalBuilder, evaluatorList, readerList);
+                evaluatorList.add(new Evaluator(length, c));
+                readerList.add(new Reader(Math.max(length, maxLength(c)), c, timeUnit));
+            } else if (timeUnit != null) {
                 int length = 1;
-                final StringBuilder readerBuilder = new StringBuilder();
                 while (i + 1 < formatString.length() && formatString.charAt(i + 1) == c) {
                     length++;
                     i++;
                 }
-                templateBuilder.append("%s");
-                evaluators.add(new Evaluator(length, c));
-                readerBuilder.append(length == 1 ? unitMap.get(c).getAbbreviation() :
-                    String.format("(%s|%s)", unitMap.get(c).getSingularName(), unitMap.get(c).getPluralName()));
-                readers.add(new Reader(readerBuilder.toString()));
+                flushLiteral(literalBuilder, evaluatorList, readerList);
+                if (length == 1) {
+                    final String abbreviation = unitNames.getAbbreviation(timeUnit);
+                    evaluatorList.add(new Evaluator(c, abbreviation, abbreviation));
+                    readerList.add(new Reader(abbreviation));
+                } else {
+                    final String singularName = unitNames.getSingularName(timeUnit);
+                    final String pluralName = unitNames.getPluralName(timeUnit);
+                    evaluatorList.add(new Evaluator(c, singularName, pluralName));
+                    readerList.add(new Reader(singularName, pluralName));
+                }
             } else if (Character.isAlphabetic(c)) {
                 throw new IllegalArgumentException(String.format("Illegal pattern character '%s'", c));
             } else {
-                templateBuilder.append(c);
-                final String addition = regexSpecialChars.contains(c) ? String.format("\\%s", c) : Character.toString(c);
-                if (!readers.isEmpty() && readers.get(readers.size() - 1).text != null) {
-                    readers.get(readers.size() - 1).append(addition);
-                } else {
-                    readers.add(new Reader(addition));
-                }
+                literalBuilder.append(c);
             }
         }
-        compiledFormatString = templateBuilder.toString();
+        flushLiteral(literalBuilder, evaluatorList, readerList);
+        evaluators = evaluatorList.toArray(new Evaluator[evaluatorList.size()]);
+        readers = readerList.toArray(new Reader[readerList.size()]);
+        int length = 0;
+        for (final Evaluator evaluator: evaluators) {
+            length += evaluator.estimatedLength();
+        }
+        estimatedLength = length;
+        pattern = formatString;
+        this.locale = locale;
+        frozen = false;
+    }
+
+    /**
+     * Returns a frozen format for formatString from a shared, size-limited cache, compiling it only if it isn't
+     * already cached. This is preferable to the constructor for patterns that are used repeatedly, e.g. ones that come
+     * from user preferences. The cache size can be set with the system property
+     * "com.adashrod.timeperiod.formatCacheSize" (default 256; values less than 1 are ignored).
+     * @param formatString a string describing the format for parsing and formatting. See the class-level description
+     *                     for details.
+     * @return a frozen TimePeriodFormat
+     */
+    public static TimePeriodFormat ofPattern(final String formatString) {
+        return CacheHolder.cache.get(formatString, null);
+    }
+
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String)}, with a max unit set on the format
+     * @param formatString a string describing the format for parsing and formatting
+     * @param maxUnit see {@link com.adashrod.timeperiod.TimePeriodFormat#setMaxUnit(TimeUnit)}
+     * @return a frozen TimePeriodFormat
+     */
+    public static TimePeriodFormat ofPattern(final String formatString, final TimeUnit maxUnit) {
+        return CacheHolder.cache.get(formatString, maxUnit);
+    }
+
+    /**
+     * @return a snapshot of the counters of the cache used by
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String, TimeUnit)}
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return CacheHolder.cache.getStatistics();
+    }
+
+    /**
+     * Makes a frozen copy of source that shares its compiled evaluators and readers
+     * @param source the format to copy
+     */
+    private TimePeriodFormat(final TimePeriodFormat source) {
+        evaluators = source.evaluators;
+        readers = source.readers;
+        estimatedLength = source.estimatedLength;
+        pattern = source.pattern;
+        locale = source.locale;
+        maxTimeUnit = source.maxTimeUnit;
+        frozen = true;
+    }
+
+    /**
+     * Adds any pending literal text as a single literal op and a single literal reader and clears the builder, so that
+     * consecutive plain chars and quoted sections are written with one append when formatting and matched in one
+     * comparison when parsing
+     * @param literalBuilder pending literal text
+     * @param evaluatorList the ops compiled so far
+     * @param readerList the readers compiled so far
+     */
+    private static void flushLiteral(final StringBuilder literalBuilder, final List<Evaluator> evaluatorList,
+            final List<Reader> readerList) {
+        if (literalBuilder.length() > 0) {
+            final String literal = literalBuilder.toString();
+            evaluatorList.add(new Evaluator(literal));
+            readerList.add(new Reader(literal));
+            literalBuilder.setLength(0);
+        }
     }
 
     /**
@@ -228,68 +382,495 @@ public class TimePeriodFormat {
      * @return a formatted string
      */
     public String format(final TimePeriod timePeriod) {
-        timePeriod.denormalize(maxTimeUnit);
-        final List<String> strings = evaluators.stream().map((final Evaluator evaluator) -> {
-            return evaluator.toString(timePeriod);
-        }).collect(Collectors.toList());
-        timePeriod.normalize();
-        return String.format(compiledFormatString, strings.toArray());
+        return formatTo(timePeriod, new StringBuilder(estimatedLength)).toString();
+    }
+
+    /**
+     * Formats the timePeriod according to the format passed into the constructor and appends the result to
+     * stringBuilder. Digits and unit names are written directly into stringBuilder, so no intermediate strings are
+     * created.
+     * @param timePeriod an object to format
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     */
+    public StringBuilder formatTo(final TimePeriod timePeriod, final StringBuilder stringBuilder) {
+        try {
+            formatTo(timePeriod, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Formats the timePeriod according to the format passed into the constructor and appends the result to appendable.
+     * Digits and unit names are written directly into appendable, so no intermediate strings are created.
+     * @param timePeriod an object to format
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatTo(final TimePeriod timePeriod, final Appendable appendable) throws IOException {
+        // de-normalized values are computed into locals so that timePeriod is never modified and can be shared
+        final TimeUnit maxUnit = maxTimeUnit;
+        return appendFields(appendable,
+            timePeriod.getDenormalized(TimeUnit.WEEK, maxUnit),
+            timePeriod.getDenormalized(TimeUnit.DAY, maxUnit),
+            timePeriod.getDenormalized(TimeUnit.HOUR, maxUnit),
+            timePeriod.getDenormalized(TimeUnit.MINUTE, maxUnit),
+            timePeriod.getDenormalized(TimeUnit.SECOND, maxUnit),
+            timePeriod.getDenormalized(TimeUnit.MILLISECOND, maxUnit));
+    }
+
+    /**
+     * Formats the timePeriod as a string, according to the format passed into the constructor
+     * @param timePeriod an object to format
+     * @return a formatted string
+     */
+    public String format(final CompactTimePeriod timePeriod) {
+        return formatTo(timePeriod, new StringBuilder(estimatedLength)).toString();
+    }
+
+    /**
+     * Formats the timePeriod according to the format passed into the constructor and appends the result to
+     * stringBuilder. See {@link com.adashrod.timeperiod.TimePeriodFormat#formatTo(TimePeriod, StringBuilder)}
+     * @param timePeriod an object to format
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     */
+    public StringBuilder formatTo(final CompactTimePeriod timePeriod, final StringBuilder stringBuilder) {
+        try {
+            formatTo(timePeriod, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Formats the timePeriod according to the format passed into the constructor and appends the result to appendable.
+     * See {@link com.adashrod.timeperiod.TimePeriodFormat#formatTo(TimePeriod, Appendable)}
+     * @param timePeriod an object to format
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatTo(final CompactTimePeriod timePeriod, final Appendable appendable) throws IOException {
+        return formatMillisTo(timePeriod.toMillis(), appendable);
+    }
+
+    /**
+     * Formats a length of time given in milliseconds as a string
+     * @param milliseconds a non-negative number of milliseconds
+     * @return a formatted string
+     */
+    public String formatMillis(final long milliseconds) {
+        return formatMillisTo(milliseconds, new StringBuilder(estimatedLength)).toString();
+    }
+
+    /**
+     * Formats a length of time given in milliseconds and appends the result to stringBuilder
+     * @param milliseconds a non-negative number of milliseconds
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     */
+    public StringBuilder formatMillisTo(final long milliseconds, final StringBuilder stringBuilder) {
+        try {
+            formatMillisTo(milliseconds, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Formats a length of time given in milliseconds and appends the result to appendable. Each field is computed from
+     * milliseconds with integer math, so primitive storage like {@link com.adashrod.timeperiod.TimePeriodArray} can be
+     * formatted without creating an object per element.
+     * @param milliseconds a non-negative number of milliseconds
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatMillisTo(final long milliseconds, final Appendable appendable) throws IOException {
+        final TimeUnit maxUnit = maxTimeUnit;
+        return appendFields(appendable,
+            CompactTimePeriod.getDenormalized(milliseconds, TimeUnit.WEEK, maxUnit),
+            CompactTimePeriod.getDenormalized(milliseconds, TimeUnit.DAY, maxUnit),
+            CompactTimePeriod.getDenormalized(milliseconds, TimeUnit.HOUR, maxUnit),
+            CompactTimePeriod.getDenormalized(milliseconds, TimeUnit.MINUTE, maxUnit),
+            CompactTimePeriod.getDenormalized(milliseconds, TimeUnit.SECOND, maxUnit),
+            CompactTimePeriod.getDenormalized(milliseconds, TimeUnit.MILLISECOND, maxUnit));
+    }
+
+    /**
+     * Runs the compiled evaluators over a set of already de-normalized field values
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    private Appendable appendFields(final Appendable appendable, final long weeks, final long days, final long hours,
+            final long minutes, final long seconds, final long milliseconds) throws IOException {
+        final TimePeriodMetrics.Registration registration = TimePeriodMetrics.registration;
+        if (registration == null) {
+            for (final Evaluator evaluator: evaluators) {
+                evaluator.appendTo(appendable, weeks, days, hours, minutes, seconds, milliseconds);
+            }
+            return appendable;
+        }
+        final long start = registration.startTimer();
+        for (final Evaluator evaluator: evaluators) {
+            evaluator.appendTo(appendable, weeks, days, hours, minutes, seconds, milliseconds);
+        }
+        registration.listener.formatted(pattern, TimePeriodMetrics.stopTimer(start));
+        return appendable;
+    }
+
+    /**
+     * Formats every element of timePeriods into one buffer, with separator between consecutive elements, e.g. for
+     * writing a column of a CSV export without creating a String per row
+     * @param timePeriods the objects to format
+     * @param separator written between elements, e.g. "\n"
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     */
+    public StringBuilder formatAll(final TimePeriod[] timePeriods, final CharSequence separator,
+            final StringBuilder stringBuilder) {
+        try {
+            formatAll(timePeriods, separator, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Formats every element of timePeriods into appendable, with separator between consecutive elements
+     * @param timePeriods the objects to format
+     * @param separator written between elements, e.g. "\n"
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatAll(final TimePeriod[] timePeriods, final CharSequence separator,
+            final Appendable appendable) throws IOException {
+        appendRange((final int index, final Appendable destination) -> formatTo(timePeriods[index], destination), 0,
+            timePeriods.length, separator, appendable);
+        return appendable;
+    }
+
+    /**
+     * Formats every element of timePeriods into one buffer, with separator between consecutive elements
+     * @param timePeriods the objects to format
+     * @param separator written between elements, e.g. "\n"
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     */
+    public StringBuilder formatAll(final Iterable<? extends TimePeriod> timePeriods, final CharSequence separator,
+            final StringBuilder stringBuilder) {
+        try {
+            formatAll(timePeriods, separator, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Formats every element of timePeriods into appendable, with separator between consecutive elements
+     * @param timePeriods the objects to format
+     * @param separator written between elements, e.g. "\n"
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatAll(final Iterable<? extends TimePeriod> timePeriods, final CharSequence separator,
+            final Appendable appendable) throws IOException {
+        boolean first = true;
+        for (final TimePeriod timePeriod: timePeriods) {
+            if (!first) {
+                appendable.append(separator);
+            }
+            formatTo(timePeriod, appendable);
+            first = false;
+        }
+        return appendable;
+    }
+
+    /**
+     * Formats every element of milliseconds into one buffer, with separator between consecutive elements, e.g. the
+     * contents of a {@link com.adashrod.timeperiod.TimePeriodArray}
+     * @param milliseconds non-negative lengths of time
+     * @param separator written between elements, e.g. "\n"
+     * @param stringBuilder the buffer to append to
+     * @return stringBuilder
+     */
+    public StringBuilder formatAllMillis(final long[] milliseconds, final CharSequence separator,
+            final StringBuilder stringBuilder) {
+        try {
+            formatAllMillis(milliseconds, separator, (Appendable) stringBuilder);
+        } catch (final IOException ioe) {
+            // StringBuilder.append never throws IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * Formats every element of milliseconds into appendable, with separator between consecutive elements
+     * @param milliseconds non-negative lengths of time
+     * @param separator written between elements, e.g. "\n"
+     * @param appendable the destination to append to
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatAllMillis(final long[] milliseconds, final CharSequence separator,
+            final Appendable appendable) throws IOException {
+        appendRange((final int index, final Appendable destination) -> formatMillisTo(milliseconds[index], destination),
+            0, milliseconds.length, separator, appendable);
+        return appendable;
+    }
+
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriodFormat#formatAll(TimePeriod[], CharSequence, Appendable)}, but
+     * large inputs are split into chunks that are formatted concurrently on pool into separate buffers, which are then
+     * appended to appendable in order. The output is identical to the sequential version's. Since the chunks are
+     * formatted concurrently, this format must not be modified during the call; frozen formats are always safe.
+     * @param timePeriods the objects to format; they must not be modified during the call
+     * @param separator written between elements, e.g. "\n"
+     * @param appendable the destination to append to
+     * @param pool where to format chunks, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatAllParallel(final TimePeriod[] timePeriods, final CharSequence separator,
+            final Appendable appendable, final ForkJoinPool pool) throws IOException {
+        return appendParallel((final int index, final Appendable destination) ->
+            formatTo(timePeriods[index], destination), timePeriods.length, separator, appendable, pool);
+    }
+
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriodFormat#formatAllMillis(long[], CharSequence, Appendable)}, but
+     * large inputs are split into chunks that are formatted concurrently on pool into separate buffers, which are then
+     * appended to appendable in order. The output is identical to the sequential version's.
+     * @param milliseconds non-negative lengths of time
+     * @param separator written between elements, e.g. "\n"
+     * @param appendable the destination to append to
+     * @param pool where to format chunks, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @return appendable
+     * @throws IOException if appendable throws one
+     */
+    public Appendable formatAllMillisParallel(final long[] milliseconds, final CharSequence separator,
+            final Appendable appendable, final ForkJoinPool pool) throws IOException {
+        return appendParallel((final int index, final Appendable destination) ->
+            formatMillisTo(milliseconds[index], destination), milliseconds.length, separator, appendable, pool);
+    }
+
+    /**
+     * Formats elements start (inclusive) to end (exclusive) of an indexed input, with separator between them
+     */
+    private static void appendRange(final ElementFormatter formatter, final int start, final int end,
+            final CharSequence separator, final Appendable appendable) throws IOException {
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                appendable.append(separator);
+            }
+            formatter.formatTo(i, appendable);
+        }
+    }
+
+    private Appendable appendParallel(final ElementFormatter formatter, final int count, final CharSequence separator,
+            final Appendable appendable, final ForkJoinPool pool) throws IOException {
+        if (count <= parallelChunkSize) {
+            appendRange(formatter, 0, count, separator, appendable);
+            return appendable;
+        }
+        final int chunkCount = (count - 1) / parallelChunkSize + 1;
+        final StringBuilder[] buffers = new StringBuilder[chunkCount];
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            final int chunk = c;
+            final int start = chunk * parallelChunkSize;
+            final int end = Math.min(count, start + parallelChunkSize);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                final StringBuilder buffer = new StringBuilder((end - start) * (estimatedLength + separator.length()));
+                try {
+                    appendRange(formatter, start, end, separator, buffer);
+                } catch (final IOException ioe) {
+                    // StringBuilder.append never throws IOException
+                    throw new UncheckedIOException(ioe);
+                }
+                buffers[chunk] = buffer;
+            }));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        for (int c = 0; c < chunkCount; c++) {
+            if (c > 0) {
+                appendable.append(separator);
+            }
+            appendable.append(buffers[c]);
+        }
+        return appendable;
+    }
+
+    /**
+     * formats the element at an index of some input
+     */
+    private interface ElementFormatter {
+        void formatTo(int index, Appendable appendable) throws IOException;
     }
 
     /**
-     * Parses a formatted string using the format to create a TimePeriod
+     * Parses a formatted string using the format to create a TimePeriod.
+     * Parsing makes a single left-to-right pass over timeString without backtracking: literal text and unit names are
+     * compared directly against the input, and numbers are read digit by digit. Each input char is examined at most a
+     * constant number of times, so for an input of length n and a format string of length p, parsing does O(n + p) work
+     * in the worst case, and it stops at the first char that doesn't match. This makes it safe to use on untrusted input.
      * @param timeString a string formatted according to the format passed into the constructor
      * @return a TimePeriod
      * @throws ParseException if the timeString doesn't match the format
      */
     public TimePeriod parse(final String timeString) throws ParseException {
+        final TimePeriod timePeriod = new TimePeriod();
+        final ParseResult result = new ParseResult(timePeriod);
+        if (!tryParse(timeString, result)) {
+            throw new ParseException(result.getError().getMessage(), result.getErrorIndex());
+        }
+        return timePeriod;
+    }
+
+    /**
+     * Parses text the same way as {@link com.adashrod.timeperiod.TimePeriodFormat#parse(String)}, but reports failure
+     * through the return value and result instead of throwing an exception. Reusing result across calls makes this
+     * allocation-free on both success and failure, so it's the cheapest way to validate input that is often invalid.
+     * @param text a string formatted according to the format passed into the constructor
+     * @param result where to store the parsed TimePeriod or the error and its index
+     * @return true if text matches the format
+     */
+    public boolean tryParse(final CharSequence text, final ParseResult result) {
+        final ParsePosition position = result.reset(0);
+        return result.finish(parseReporting(text, position, result.getTimePeriod(), true));
+    }
+
+    /**
+     * Parses text in place, starting at position.getIndex(), following the conventions of
+     * {@link java.text.Format#parseObject(String, ParsePosition)}: the input doesn't have to be consumed completely, and
+     * nothing is copied out of text, so this can parse directly out of a larger line, a StringBuilder, or a CharBuffer.
+     * On success, position's index is set to the index right after the last char used. On failure, position's index
+     * is unchanged and its error index is set to the index where the failure occurred.
+     * @param text the text to parse
+     * @param position where to start parsing; updated as described above
+     * @return the parsed TimePeriod, or null if text doesn't match the format at position
+     */
+    public TimePeriod parse(final CharSequence text, final ParsePosition position) {
         final TimePeriod result = new TimePeriod();
-        int i = 0;
+        return parseReporting(text, position, result, false) == null ? result : null;
+    }
+
+    /**
+     * Calls {@link com.adashrod.timeperiod.TimePeriodFormat#parseInto(CharSequence, ParsePosition, TimePeriod, boolean)}
+     * and reports the outcome to the {@link com.adashrod.timeperiod.TimePeriodMetrics} listener, if there is one
+     */
+    private ParseError parseReporting(final CharSequence text, final ParsePosition position, final TimePeriod result,
+            final boolean whole) {
+        final TimePeriodMetrics.Registration registration = TimePeriodMetrics.registration;
+        if (registration == null) {
+            return parseInto(text, position, result, whole);
+        }
+        final long start = registration.startTimer();
+        final ParseError error = parseInto(text, position, result, whole);
+        registration.reportParse(pattern, error, position.getErrorIndex(), start);
+        return error;
+    }
+
+    /**
+     * Reads text starting at position.getIndex() into result, see
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#parse(CharSequence, ParsePosition)}
+     * @param text the text to parse
+     * @param position where to start parsing; on success, its index is moved to the end of the match, and on failure
+     *                 its error index is set
+     * @param result the TimePeriod to set fields on
+     * @param whole true if text has to end where the format does
+     * @return null on success, or why parsing failed
+     */
+    ParseError parseInto(final CharSequence text, final ParsePosition position, final TimePeriod result,
+            final boolean whole) {
+        final TimeUnit maxUnit = maxTimeUnit;
+        // fields are collected here and set on result all at once, so that it's normalized only once
+        long weeks = 0, days = 0, hours = 0, minutes = 0, seconds = 0, milliseconds = 0;
+        int i = position.getIndex();
         for (final Reader reader: readers) {
-            if (reader.text != null) {
-                // read plain text input against regex
-                final int start = i;
-                final StringBuilder stringBuilder = new StringBuilder();
-                boolean startedMatching = false;
-                while (i < timeString.length()) {
-                    stringBuilder.append(timeString.charAt(i));
-                    if (stringBuilder.toString().matches(reader.text)) {
-                        startedMatching = true;
-                    } else if (startedMatching) {
-                        // once it has started matching and then fails to match- quit
-                        break;
-                    }
-                    i++;
-                }
-                if (!startedMatching) {
-                    // pattern never matched - plain text of the format string was not found in the input
-                    throw new ParseException("Non-numeric token not found", start);
+            if (reader.texts != null) {
+                // match plain text or a unit name against the input
+                final int end = reader.match(text, i);
+                if (end < 0) {
+                    // plain text of the format string was not found in the input
+                    position.setErrorIndex(i);
+                    return ParseError.NON_NUMERIC_TOKEN_NOT_FOUND;
                 }
+                i = end;
             } else {
                 // read a number
-                final StringBuilder numberReader = new StringBuilder();
                 // if there's a maxTimeUnit set, then have no limit on how many chars to read for that unit
-                final Integer length = maxTimeUnit == unitMap.get(Character.toUpperCase(reader.field)) ? null : Math.max(reader.length, maxLengths.get(reader.field));
+                final int length = reader.getMaxLength(maxUnit);
+                final int start = i;
+                long number = 0;
                 // loop until the max number of chars have been read
-                for (int j = 0; (length == null || j < length) && i + j < timeString.length(); j++) {
-                    if (Character.isDigit(timeString.charAt(i + j))) {
-                        numberReader.append(timeString.charAt(i + j));
-                    } else {
+                while (i - start < length && i < text.length()) {
+                    final char c = text.charAt(i);
+                    if (c < '0' || c > '9') {
                         // quit early if possible
                         break;
                     }
+                    if (number > (Long.MAX_VALUE - (c - '0')) / 10) {
+                        position.setErrorIndex(start);
+                        return ParseError.NUMERIC_TOKEN_TOO_LARGE;
+                    }
+                    number = number * 10 + (c - '0');
+                    i++;
                 }
-                if (numberReader.length() == 0) {
-                    throw new ParseException("Missing numeric token", i);
+                if (i == start) {
+                    position.setErrorIndex(i);
+                    return ParseError.MISSING_NUMERIC_TOKEN;
+                }
+                switch (reader.timeUnit) {
+                    case WEEK:
+                        weeks = number;
+                        break;
+                    case DAY:
+                        days = number;
+                        break;
+                    case HOUR:
+                        hours = number;
+                        break;
+                    case MINUTE:
+                        minutes = number;
+                        break;
+                    case SECOND:
+                        seconds = number;
+                        break;
+                    default:
+                        milliseconds = number;
+                        break;
                 }
-                i += numberReader.length();
-                reader.read(result, new Integer(numberReader.toString()));
             }
         }
-        if (i != timeString.length()) {
-            throw new ParseException("Encountered extra characters after expected end of input", i);
+        if (whole && i != text.length()) {
+            position.setErrorIndex(i);
+            return ParseError.EXTRA_CHARACTERS;
         }
-        return result;
+        try {
+            result.set(weeks, days, hours, minutes, seconds, milliseconds);
+        } catch (final ArithmeticException ae) {
+            position.setErrorIndex(position.getIndex());
+            return ParseError.NUMERIC_TOKEN_TOO_LARGE;
+        }
+        position.setIndex(i);
+        return null;
     }
 
     /**
@@ -314,135 +895,351 @@ public class TimePeriodFormat {
      * @param timeUnit the largest size unit that will be guaranteed non-zero in any TimePeriods passed to format for
      *                 formatting
      * @return this
+     * @throws UnsupportedOperationException if this format is frozen
      */
     public TimePeriodFormat setMaxUnit(final TimeUnit timeUnit) {
+        if (frozen) {
+            throw new UnsupportedOperationException("Frozen TimePeriodFormats can't be modified");
+        }
         this.maxTimeUnit = timeUnit;
         return this;
     }
 
     /**
-     * Evaluators are used to convert a field on a TimePeriod into a string for formatting
+     * @return the max unit set by {@link com.adashrod.timeperiod.TimePeriodFormat#setMaxUnit(TimeUnit)}, or null
+     */
+    public TimeUnit getMaxUnit() {
+        return maxTimeUnit;
+    }
+
+    /**
+     * Returns an immutable copy of this format with the same pattern and max unit. Calling
+     * {@link com.adashrod.timeperiod.TimePeriodFormat#setMaxUnit(TimeUnit)} on the copy throws an exception, so it can
+     * be safely shared between any number of threads.
+     * @return a frozen copy of this, or this if it's already frozen
+     */
+    public TimePeriodFormat freeze() {
+        return frozen ? this : new TimePeriodFormat(this);
+    }
+
+    /**
+     * @return the format string this format was built from
+     */
+    public String toPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return the compiled readers, in order, without copying them
+     */
+    Reader[] getReaders() {
+        return readers;
+    }
+
+    /**
+     * @return the locale of the unit names this format uses
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * @return true if this format is immutable
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * A snapshot of the counters of the format cache, for sizing it
+     */
+    public static final class CacheStatistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+        private final int capacity;
+
+        CacheStatistics(final long hitCount, final long missCount, final long evictionCount, final int size,
+                final int capacity) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.capacity = capacity;
+        }
+
+        /**
+         * @return how many lookups found an already compiled format
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return how many lookups had to compile a format
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return how many formats have been removed to make room for others
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return how many formats are currently cached
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return the max number of formats that can be cached
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits: %d, misses: %d, evictions: %d, size: %d/%d", hitCount, missCount, evictionCount,
+                size, capacity);
+        }
+    }
+
+    /**
+     * Evaluators are the ops of a compiled format: each one either writes a piece of literal text or converts a field on
+     * a TimePeriod into text
      */
     private static class Evaluator {
         private final int length;
         private final char field;
+        private final String text;
+        /**
+         * the unit name written when the number of the unit is 1 and otherwise, for unit name fields
+         */
+        private final String singularName;
+        private final String pluralName;
 
         /**
-         * @param length determines how much padding numbers get/whether to display unit abbreviations or names
-         * @param field which field of a TimePeriod/unit to display
+         * Creates an evaluator that writes a number field of a TimePeriod
+         * @param length determines how much padding numbers get
+         * @param field which field of a TimePeriod to display
          */
         public Evaluator(final int length, final char field) {
             this.length = length;
             this.field = field;
+            this.text = null;
+            this.singularName = null;
+            this.pluralName = null;
+        }
+
+        /**
+         * Creates an evaluator that writes the name of a unit
+         * @param field which unit to display
+         * @param singularName the name to write when there is 1 of the unit
+         * @param pluralName the name to write otherwise
+         */
+        public Evaluator(final char field, final String singularName, final String pluralName) {
+            this.length = 0;
+            this.field = field;
+            this.text = null;
+            this.singularName = singularName;
+            this.pluralName = pluralName;
+        }
+
+        /**
+         * Creates an evaluator that writes literal text
+         * @param text text to write
+         */
+        public Evaluator(final String text) {
+            this.length = 0;
+            this.field = 0;
+            this.text = text;
+            this.singularName = null;
+            this.pluralName = null;
         }
 
         /**
-         * Given the length and field type determined at construction, create the appropriate string using timePeriod's
-         * data
-         * @param timePeriod the TimePeriod to use for getting data
-         * @return a string version of the data
+         * @return roughly how many chars this evaluator will write
          */
-        public String toString(final TimePeriod timePeriod) {
+        public int estimatedLength() {
+            if (text != null) {
+                return text.length();
+            } else if (singularName == null) {
+                return Math.max(length, 3);
+            } else {
+                return pluralName.length();
+            }
+        }
+
+        /**
+         * Given the length and field type determined at construction, append the appropriate text using the
+         * de-normalized field values
+         * @param appendable the destination to append to
+         * @throws IOException if appendable throws one
+         */
+        public void appendTo(final Appendable appendable, final long weeks, final long days, final long hours,
+                final long minutes, final long seconds, final long milliseconds) throws IOException {
+            if (text != null) {
+                appendable.append(text);
+                return;
+            }
             switch (field) {
                 case weekChar:
-                    return Util.padWithZeroes(timePeriod.getDenormalizedWeeks(), length);
+                    Util.appendPaddedNumber(appendable, weeks, length);
+                    break;
                 case dayChar:
-                    return Util.padWithZeroes(timePeriod.getDenormalizedDays(), length);
+                    Util.appendPaddedNumber(appendable, days, length);
+                    break;
                 case hourChar:
-                    return Util.padWithZeroes(timePeriod.getDenormalizedHours(), length);
+                    Util.appendPaddedNumber(appendable, hours, length);
+                    break;
                 case minuteChar:
-                    return Util.padWithZeroes(timePeriod.getDenormalizedMinutes(), length);
+                    Util.appendPaddedNumber(appendable, minutes, length);
+                    break;
                 case secondChar:
-                    return Util.padWithZeroes(timePeriod.getDenormalizedSeconds(), length);
+                    Util.appendPaddedNumber(appendable, seconds, length);
+                    break;
                 case millisecondChar:
-                    return Util.padWithZeroes(timePeriod.getDenormalizedMilliseconds(), length);
+                    Util.appendPaddedNumber(appendable, milliseconds, length);
+                    break;
                 case weekStringChar:
-                    return length == 1 ? TimeUnit.WEEK.getAbbreviation() :
-                        (timePeriod.getDenormalizedWeeks() == 1 ? TimeUnit.WEEK.getSingularName() : TimeUnit.WEEK.getPluralName());
+                    appendable.append(unitName(weeks));
+                    break;
                 case dayStringChar:
-                    return length == 1 ? TimeUnit.DAY.getAbbreviation() :
-                        (timePeriod.getDenormalizedDays() == 1 ? TimeUnit.DAY.getSingularName() : TimeUnit.DAY.getPluralName());
+                    appendable.append(unitName(days));
+                    break;
                 case hourStringChar:
-                    return length == 1 ? TimeUnit.HOUR.getAbbreviation() :
-                        (timePeriod.getDenormalizedHours() == 1 ? TimeUnit.HOUR.getSingularName() : TimeUnit.HOUR.getPluralName());
+                    appendable.append(unitName(hours));
+                    break;
                 case minuteStringChar:
-                    return length == 1 ? TimeUnit.MINUTE.getAbbreviation() :
-                        (timePeriod.getDenormalizedMinutes() == 1 ? TimeUnit.MINUTE.getSingularName() : TimeUnit.MINUTE.getPluralName());
+                    appendable.append(unitName(minutes));
+                    break;
                 case secondStringChar:
-                    return length == 1 ? TimeUnit.SECOND.getAbbreviation() :
-                        (timePeriod.getDenormalizedSeconds() == 1 ? TimeUnit.SECOND.getSingularName() : TimeUnit.SECOND.getPluralName());
+                    appendable.append(unitName(seconds));
+                    break;
                 case millisecondStringChar:
-                    return length == 1 ? TimeUnit.MILLISECOND.getAbbreviation() :
-                        (timePeriod.getDenormalizedMilliseconds() == 1 ? TimeUnit.MILLISECOND.getSingularName() : TimeUnit.MILLISECOND.getPluralName());
-                default:
-                    return "";
+                    appendable.append(unitName(milliseconds));
+                    break;
             }
         }
+
+        /**
+         * @param number how many of the unit there are
+         * @return the singular or plural name of the unit; both are the abbreviation for single-letter fields
+         */
+        private String unitName(final long number) {
+            return number == 1 ? singularName : pluralName;
+        }
     }
 
     /**
-     * Readers are used during parsing to take input from a string and set properties on a TimePeriod
+     * Readers are used during parsing to take input from a string and set properties on a TimePeriod. A reader either
+     * reads a number or matches one of a set of exact alternatives, e.g. a piece of literal text or the singular and
+     * plural names of a unit.
      */
-    private static class Reader {
+    static class Reader {
         private final char field;
         private final int length;
-        private String text;
+        /**
+         * the unit of the number being read, or null for a reader that matches text
+         */
+        private final TimeUnit timeUnit;
+        /**
+         * the alternatives to match, longest first, or null for a reader that reads numbers
+         */
+        private final String[] texts;
 
         /**
          * Creates a reader that will be used for reading numbers
-         * @param length the max number of chars to read for the field
+         * @param length the max number of chars to read for the field, unless the max unit is timeUnit
          * @param field what type of number is being read
+         * @param timeUnit the unit of field
          */
-        public Reader(final int length, final char field) {
+        public Reader(final int length, final char field, final TimeUnit timeUnit) {
             this.field = field;
             this.length = length;
-            this.text = null;
+            this.timeUnit = timeUnit;
+            this.texts = null;
         }
 
         /**
          * Creates a reader used for matching plain text
-         * @param text text to match
+         * @param texts alternatives to match, e.g. "hour" and "hours"
          */
-        public Reader(final String text) {
+        public Reader(final String... texts) {
             this.field = 0;
             this.length = 0;
-            this.text = text;
+            this.timeUnit = null;
+            this.texts = texts.clone();
+            // longest first, so that matching is greedy, e.g. "hours" is preferred over "hour"
+            Arrays.sort(this.texts, (final String a, final String b) -> b.length() - a.length());
         }
 
         /**
-         * Sets a field on timePeriod equal to number. Which field was determined by what was passed to the constructor.
-         * @param timePeriod a TimePeriod to update
-         * @param number the value to set on a field in timePeriod
+         * @return true if this reads a number, false if it matches text
          */
-        public void read(final TimePeriod timePeriod, final int number) {
-            switch (field) {
-                case weekChar:
-                    timePeriod.setWeeks(number);
-                    break;
-                case dayChar:
-                    timePeriod.setDays(number);
-                    break;
-                case hourChar:
-                    timePeriod.setHours(number);
-                    break;
-                case minuteChar:
-                    timePeriod.setMinutes(number);
-                    break;
-                case secondChar:
-                    timePeriod.setSeconds(number);
-                    break;
-                case millisecondChar:
-                    timePeriod.setMilliseconds(number);
-                    break;
+        boolean readsNumber() {
+            return texts == null;
+        }
+
+        /**
+         * @param maxUnit the max unit of the format this belongs to
+         * @return the max number of digits this reads, which is unlimited if this reads maxUnit
+         */
+        int getMaxLength(final TimeUnit maxUnit) {
+            return maxUnit == timeUnit ? Integer.MAX_VALUE : length;
+        }
+
+        /**
+         * @return the alternatives this matches, longest first, or null if this reads numbers
+         */
+        String[] getTexts() {
+            return texts;
+        }
+
+        /**
+         * @param other another reader
+         * @return true if other reads the same field or matches the same alternatives as this, apart from how many
+         * digits it reads
+         */
+        boolean readsSameAs(final Reader other) {
+            return field == other.field && timeUnit == other.timeUnit && Arrays.equals(texts, other.texts);
+        }
+
+        /**
+         * Matches the alternatives against the input at position
+         * @param input the string being parsed
+         * @param position where in input to start matching
+         * @return the index in input right after the matched text, or -1 if no alternative matches
+         */
+        public int match(final CharSequence input, final int position) {
+            for (final String text: texts) {
+                if (regionMatches(input, position, text)) {
+                    return position + text.length();
+                }
             }
+            return -1;
         }
 
         /**
-         * Appends a string onto the text field of the reader
-         * @param s to append
+         * @return true if input contains text starting at position
          */
-        public void append(final String s) {
-            this.text += s;
+        private static boolean regionMatches(final CharSequence input, final int position, final String text) {
+            if (position + text.length() > input.length()) {
+                return false;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (input.charAt(position + i) != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 }
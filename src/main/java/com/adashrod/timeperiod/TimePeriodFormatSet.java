@@ -0,0 +1,332 @@
+package com.adashrod.timeperiod;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Arrays;
+
+/**
+ * Parses strings that may be in any one of several {@link com.adashrod.timeperiod.TimePeriodFormat}s, e.g. "hh:mm:ss",
+ * "h HH m MM", and "d'd' h'h'", and reports which of them matched. The compiled readers of all of the formats are merged
+ * into one tree, so readers that the formats have in common, e.g. the leading hours of "hh:mm:ss" and "h HH m MM", are
+ * only run once, and at each point where the formats differ, the next char of input picks the branches that can still
+ * match. This makes the cost of recognizing the input depend on its length rather than on the number of formats. Once
+ * the matching format is known, its fields are read into the result; if that fails, e.g. because the fields together
+ * are too long to be represented, the search resumes with the formats after it.
+ * When more than one format matches the input, the one that was passed in first wins, the same as trying each format
+ * in order. Failing to parse throws no exceptions internally, and the error that is reported is the one that got
+ * furthest into the input.
+ * A TimePeriodFormatSet is immutable: the formats are frozen when it's created, so changing the max unit of one of the
+ * original formats afterwards has no effect on the set. It can be shared between any number of threads.
+ */
+public class TimePeriodFormatSet {
+    private final TimePeriodFormat[] formats;
+    private final Node root = new Node(null, 0);
+
+    /**
+     * @param formats the formats to accept, in order of preference
+     * @throws IllegalArgumentException if there are no formats
+     */
+    public TimePeriodFormatSet(final TimePeriodFormat... formats) {
+        if (formats.length == 0) {
+            throw new IllegalArgumentException("A TimePeriodFormatSet needs at least one format");
+        }
+        this.formats = new TimePeriodFormat[formats.length];
+        for (int i = 0; i < formats.length; i++) {
+            this.formats[i] = formats[i].freeze();
+            add(this.formats[i], i);
+        }
+    }
+
+    /**
+     * @param patterns the patterns of the formats to accept, in order of preference, see
+     *                 {@link com.adashrod.timeperiod.TimePeriodFormat#ofPattern(String)}
+     * @return a set of the formats for patterns
+     * @throws IllegalArgumentException if there are no patterns
+     */
+    public static TimePeriodFormatSet ofPatterns(final String... patterns) {
+        final TimePeriodFormat[] formats = new TimePeriodFormat[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            formats[i] = TimePeriodFormat.ofPattern(patterns[i]);
+        }
+        return new TimePeriodFormatSet(formats);
+    }
+
+    /**
+     * Adds the readers of format to the tree, sharing the path of any format added before with the same leading readers
+     * @param format a frozen format
+     * @param index the index of format
+     */
+    private void add(final TimePeriodFormat format, final int index) {
+        final TimeUnit maxUnit = format.getMaxUnit();
+        Node node = root;
+        node.minFormatIndex = Math.min(node.minFormatIndex, index);
+        node.maxFormatIndex = index;
+        for (final TimePeriodFormat.Reader reader: format.getReaders()) {
+            node = node.getOrAddChild(reader, reader.getMaxLength(maxUnit));
+            node.minFormatIndex = Math.min(node.minFormatIndex, index);
+            node.maxFormatIndex = index;
+        }
+        if (node.formatIndex < 0) {
+            node.formatIndex = index;
+        }
+    }
+
+    /**
+     * Parses a string that matches one of the formats
+     * @param timeString a string formatted according to one of the formats
+     * @return the parsed TimePeriod
+     * @throws ParseException if timeString doesn't match any of the formats
+     */
+    public TimePeriod parse(final String timeString) throws ParseException {
+        final ParseResult result = new ParseResult();
+        if (tryParse(timeString, result) < 0) {
+            throw new ParseException(result.getError().getMessage(), result.getErrorIndex());
+        }
+        return result.toTimePeriod();
+    }
+
+    /**
+     * Parses text in a single pass over all of the formats, reporting failure through the return value and result
+     * instead of throwing an exception. Reusing result across calls makes this allocation-free on both success and
+     * failure. The outcome is reported to the {@link com.adashrod.timeperiod.TimePeriodMetrics} listener, if there is
+     * one, with the pattern of the format that read text, or on failure, of the first format that matched text but
+     * couldn't read it, or null if none matched.
+     * @param text a string formatted according to one of the formats
+     * @param result where to store the parsed TimePeriod, or the error and its index
+     * @return the index of the first format that matched text and could read its fields, or -1 if none did
+     */
+    public int tryParse(final CharSequence text, final ParseResult result) {
+        final TimePeriodMetrics.Registration registration = TimePeriodMetrics.registration;
+        if (registration == null) {
+            return Math.max(-1, parseFirst(text, result));
+        }
+        final long start = registration.startTimer();
+        final int outcome = parseFirst(text, result);
+        final int reported = outcome >= 0 ? outcome : -2 - outcome;
+        registration.reportParse(reported < 0 ? null : formats[reported].toPattern(), result.getError(),
+            result.getErrorIndex(), start);
+        return Math.max(-1, outcome);
+    }
+
+    /**
+     * Searches for the first format that matches text and reads text into result with it. If reading fails, the search
+     * is resumed with the formats after that one, so the outcome is the same as trying each format in order.
+     * @param text the text to parse
+     * @param result where to store the parsed TimePeriod, or the error and its index
+     * @return the index of the format that read text; or -2 minus the index of the first format that matched text but
+     *         couldn't read it; or -1 if none matched
+     */
+    private int parseFirst(final CharSequence text, final ParseResult result) {
+        int firstFailed = -1;
+        ParseError readError = null;
+        int readErrorIndex = -1;
+        int after = -1;
+        while (true) {
+            result.reset(0);
+            final int index = search(root, text, 0, result, after, Integer.MAX_VALUE);
+            if (index == Integer.MAX_VALUE) {
+                if (readError != null) {
+                    result.recordFailure(readError, readErrorIndex);
+                }
+                result.finish(result.getError());
+                return -2 - firstFailed;
+            }
+            final ParseError error = formats[index].parseInto(text, result.reset(0), result.getTimePeriod(), true);
+            if (result.finish(error)) {
+                return index;
+            }
+            if (firstFailed < 0) {
+                firstFailed = index;
+                readError = error;
+                readErrorIndex = result.getErrorIndex();
+            }
+            after = index;
+        }
+    }
+
+    /**
+     * Finds the lowest-indexed format after a given one that matches the rest of text, starting at node
+     * @param node the node reached so far
+     * @param text the text being parsed
+     * @param i how far into text node was reached
+     * @param result where to record failures
+     * @param after formats with this index or lower are skipped; -1 to skip none
+     * @param best the lowest index of a format found to match so far, or Integer.MAX_VALUE if none
+     * @return the lower of best and the lowest index of a format below node that matches
+     */
+    private static int search(final Node node, final CharSequence text, final int i, final ParseResult result,
+            final int after, int best) {
+        final int length = text.length();
+        if (node.formatIndex > after && node.formatIndex < best) {
+            if (i == length) {
+                best = node.formatIndex;
+            } else {
+                result.recordFailure(ParseError.EXTRA_CHARACTERS, i);
+            }
+        }
+        if (node.numberChildren.length > 0) {
+            // the run of digits is shared by every number reader at this point; each one takes as much as it can
+            int digits = 0;
+            while (i + digits < length && text.charAt(i + digits) >= '0' && text.charAt(i + digits) <= '9') {
+                digits++;
+            }
+            for (final Node child: node.numberChildren) {
+                // children were added in order of format index, so no later child can beat best either
+                if (child.minFormatIndex >= best) {
+                    break;
+                }
+                if (child.maxFormatIndex <= after) {
+                    continue;
+                }
+                if (digits == 0) {
+                    result.recordFailure(ParseError.MISSING_NUMERIC_TOKEN, i);
+                    break;
+                }
+                final int count = Math.min(digits, child.maxLength);
+                if (!fitsInLong(text, i, count)) {
+                    result.recordFailure(ParseError.NUMERIC_TOKEN_TOO_LARGE, i);
+                    continue;
+                }
+                best = search(child, text, i + count, result, after, best);
+            }
+        }
+        if (node.firstChars.length > 0) {
+            final int key = i < length ? Arrays.binarySearch(node.firstChars, text.charAt(i)) : -1;
+            if (key < 0) {
+                result.recordFailure(ParseError.NON_NUMERIC_TOKEN_NOT_FOUND, i);
+            } else {
+                for (final Node child: node.textChildren[key]) {
+                    if (child.minFormatIndex >= best) {
+                        break;
+                    }
+                    if (child.maxFormatIndex <= after) {
+                        continue;
+                    }
+                    final int end = child.reader.match(text, i);
+                    if (end < 0) {
+                        result.recordFailure(ParseError.NON_NUMERIC_TOKEN_NOT_FOUND, i);
+                    } else {
+                        best = search(child, text, end, result, after, best);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return true if the count digits in text starting at start make a number no larger than Long.MAX_VALUE
+     */
+    private static boolean fitsInLong(final CharSequence text, final int start, final int count) {
+        long number = 0;
+        for (int i = start; i < start + count; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (number > (Long.MAX_VALUE - digit) / 10) {
+                return false;
+            }
+            number = number * 10 + digit;
+        }
+        return true;
+    }
+
+    /**
+     * @return how many formats this has
+     */
+    public int size() {
+        return formats.length;
+    }
+
+    /**
+     * @param index the index of a format, e.g. one returned by
+     *              {@link com.adashrod.timeperiod.TimePeriodFormatSet#tryParse(CharSequence, ParseResult)}
+     * @return the frozen format at index
+     */
+    public TimePeriodFormat getFormat(final int index) {
+        return formats[index];
+    }
+
+    /**
+     * A point in the merged readers of the formats. Each node is reached by running its reader after the readers of
+     * all of its ancestors.
+     */
+    private static class Node {
+        /**
+         * the reader that leads to this node, or null for the root
+         */
+        private final TimePeriodFormat.Reader reader;
+        /**
+         * the max number of digits reader reads, for number readers
+         */
+        private final int maxLength;
+        /**
+         * the index of the first format whose readers end here, or -1 if none do. Any later format that ends here has
+         * the same readers, so it would read the same fields.
+         */
+        private int formatIndex = -1;
+        /**
+         * the lowest and highest indexes of any format that passes through this node
+         */
+        private int minFormatIndex = Integer.MAX_VALUE;
+        private int maxFormatIndex = -1;
+        private Node[] numberChildren = new Node[0];
+        /**
+         * text children, grouped by the first chars of the alternatives they match, in sorted order of firstChars
+         */
+        private char[] firstChars = new char[0];
+        private Node[][] textChildren = new Node[0][];
+
+        private Node(final TimePeriodFormat.Reader reader, final int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        private Node getOrAddChild(final TimePeriodFormat.Reader childReader, final int childMaxLength) {
+            if (childReader.readsNumber()) {
+                for (final Node child: numberChildren) {
+                    if (child.reader.readsSameAs(childReader) && child.maxLength == childMaxLength) {
+                        return child;
+                    }
+                }
+                final Node child = new Node(childReader, childMaxLength);
+                numberChildren = Arrays.copyOf(numberChildren, numberChildren.length + 1);
+                numberChildren[numberChildren.length - 1] = child;
+                return child;
+            }
+            final int key = Arrays.binarySearch(firstChars, childReader.getTexts()[0].charAt(0));
+            if (key >= 0) {
+                for (final Node child: textChildren[key]) {
+                    if (child.reader.readsSameAs(childReader)) {
+                        return child;
+                    }
+                }
+            }
+            final Node child = new Node(childReader, 0);
+            for (final String text: childReader.getTexts()) {
+                addTextChild(text.charAt(0), child);
+            }
+            return child;
+        }
+
+        private void addTextChild(final char firstChar, final Node child) {
+            int key = Arrays.binarySearch(firstChars, firstChar);
+            if (key < 0) {
+                key = -key - 1;
+                final char[] newFirstChars = new char[firstChars.length + 1];
+                System.arraycopy(firstChars, 0, newFirstChars, 0, key);
+                System.arraycopy(firstChars, key, newFirstChars, key + 1, firstChars.length - key);
+                newFirstChars[key] = firstChar;
+                final Node[][] newTextChildren = new Node[textChildren.length + 1][];
+                System.arraycopy(textChildren, 0, newTextChildren, 0, key);
+                System.arraycopy(textChildren, key, newTextChildren, key + 1, textChildren.length - key);
+                newTextChildren[key] = new Node[0];
+                firstChars = newFirstChars;
+                textChildren = newTextChildren;
+            }
+            final Node[] children = textChildren[key];
+            if (children.length == 0 || children[children.length - 1] != child) {
+                textChildren[key] = Arrays.copyOf(children, children.length + 1);
+                textChildren[key][children.length] = child;
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.adashrod.timeperiod;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size histogram of durations for computing percentiles, e.g. p50/p99/p999 of request latencies, in the style
+ * of HdrHistogram. Durations are recorded as non-negative longs in a chosen {@link com.adashrod.timeperiod.TimeUnit}
+ * and counted in log-linear buckets: every power of two is split into 2^precisionBits equal sub-buckets, so any
+ * recorded value can be reported with a relative error of at most 1/2^precisionBits (values below 2^precisionBits are
+ * exact). E.g. with precisionBits = 7, values are accurate to within 0.8%. Memory is fixed at construction:
+ * (64 - precisionBits) * 2^precisionBits counters.
+ *
+ * Recording is O(1), allocation-free, and lock-free, so any number of threads can record into one histogram at the
+ * same time. Queries read the counters without locking, so they might not include records made concurrently with them.
+ */
+public class TimePeriodHistogram {
+    private static final int maxPrecisionBits = 14;
+
+    private final TimeUnit timeUnit;
+    private final int precisionBits;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * @param timeUnit      the unit of recorded values and of the resolution of results
+     * @param precisionBits how many bits of precision to keep for each value, from 1 to 14
+     * @throws IllegalArgumentException if precisionBits is out of range
+     */
+    public TimePeriodHistogram(final TimeUnit timeUnit, final int precisionBits) {
+        if (precisionBits < 1 || precisionBits > maxPrecisionBits) {
+            throw new IllegalArgumentException(String.format("precisionBits must be from 1 to %d: %d",
+                maxPrecisionBits, precisionBits));
+        }
+        this.timeUnit = timeUnit;
+        this.precisionBits = precisionBits;
+        counts = new AtomicLongArray((64 - precisionBits) << precisionBits);
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    public int getPrecisionBits() {
+        return precisionBits;
+    }
+
+    /**
+     * Records one occurrence of a duration
+     * @param value a duration in this histogram's unit
+     * @throws IllegalArgumentException if value is negative
+     */
+    public void record(final long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Records several occurrences of a duration
+     * @param value a duration in this histogram's unit
+     * @param count how many times it occurred
+     * @throws IllegalArgumentException if value or count is negative
+     */
+    public void record(final long value, final long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException(String.format("Negative value: %d", value));
+        } else if (count < 0) {
+            throw new IllegalArgumentException(String.format("Negative count: %d", count));
+        } else if (count == 0) {
+            // nothing occurred, so min and max mustn't change either
+            return;
+        }
+        counts.addAndGet(indexOf(value), count);
+        totalCount.add(count);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records one occurrence of a duration, truncated to this histogram's unit
+     * @param timePeriod the duration
+     * @throws ArithmeticException if timePeriod is too long to be represented in milliseconds in a long
+     */
+    public void record(final TimePeriod timePeriod) {
+        record(timePeriod.toMillis() / timeUnit.getMillisecondsPerUnit(), 1);
+    }
+
+    /**
+     * Adds all of the counts of other to this
+     * @param other a histogram with the same unit and precision
+     * @throws IllegalArgumentException if other has a different unit or precision
+     */
+    public void add(final TimePeriodHistogram other) {
+        if (other.timeUnit != timeUnit || other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Can't add histograms with different units or precisions");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            final long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+    }
+
+    /**
+     * Sets all counts to 0. Records made concurrently with a reset might be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        min.reset();
+        max.reset();
+    }
+
+    /**
+     * @return how many values have been recorded
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return the smallest value recorded, or 0 if none have been
+     */
+    public long getMinValue() {
+        return getTotalCount() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if none have been
+     */
+    public long getMaxValue() {
+        return getTotalCount() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * Finds the value that percentile percent of recorded values are less than or equal to. The result is the highest
+     * value that's equivalent to the bucket containing the percentile, but never larger than the largest recorded value.
+     * @param percentile a percentage from 0 to 100, e.g. 99.9
+     * @return the value at the percentile in this histogram's unit, or 0 if nothing has been recorded
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException(String.format("Percentile must be from 0 to 100: %s", percentile));
+        }
+        final long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    /**
+     * Same as {@link com.adashrod.timeperiod.TimePeriodHistogram#getValueAtPercentile(double)}, but returns a
+     * TimePeriod, e.g. for rendering with {@link com.adashrod.timeperiod.TimePeriodFormat}
+     * @param percentile a percentage from 0 to 100, e.g. 99.9
+     * @return the value at the percentile as a normalized TimePeriod
+     */
+    public TimePeriod getPercentile(final double percentile) {
+        return new TimePeriod(getValueAtPercentile(percentile), timeUnit);
+    }
+
+    /**
+     * @return the smallest value recorded as a normalized TimePeriod
+     */
+    public TimePeriod getMin() {
+        return new TimePeriod(getMinValue(), timeUnit);
+    }
+
+    /**
+     * @return the largest value recorded as a normalized TimePeriod
+     */
+    public TimePeriod getMax() {
+        return new TimePeriod(getMaxValue(), timeUnit);
+    }
+
+    /**
+     * @param value a non-negative value
+     * @return the index of the bucket that counts value
+     */
+    int indexOf(final long value) {
+        final int highestBit = 63 - Long.numberOfLeadingZeros(value | 1);
+        if (highestBit < precisionBits) {
+            // small values each get their own bucket
+            return (int) value;
+        }
+        final int shift = highestBit - precisionBits;
+        // (value >>> shift) is in [2^precisionBits, 2^(precisionBits + 1)), so this is (shift + 1) << precisionBits
+        // plus the sub-bucket
+        return (int) ((value >>> shift) + ((long) shift << precisionBits));
+    }
+
+    /**
+     * @param index a bucket index
+     * @return the largest value that is counted in the bucket
+     */
+    long highestEquivalentValue(final int index) {
+        if (index < 1 << precisionBits) {
+            return index;
+        }
+        final int shift = (index >>> precisionBits) - 1;
+        final long lowest = (long) ((1 << precisionBits) + (index & (1 << precisionBits) - 1)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{unit=%s, count=%d, min=%d, p50=%d, p99=%d, p99.9=%d, max=%d}",
+            getClass().getSimpleName(), timeUnit, getTotalCount(), getMinValue(), getValueAtPercentile(50),
+            getValueAtPercentile(99), getValueAtPercentile(99.9), getMaxValue());
+    }
+}
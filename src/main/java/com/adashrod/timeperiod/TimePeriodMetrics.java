@@ -0,0 +1,128 @@
+package com.adashrod.timeperiod;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Optional instrumentation of {@link com.adashrod.timeperiod.TimePeriodFormat},
+ * {@link com.adashrod.timeperiod.TimePeriodFormatSet}, and
+ * {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)}, for finding out in production which patterns are
+ * used, how often parsing fails and where, and how long it takes. Register a
+ * {@link com.adashrod.timeperiod.TimePeriodMetrics.Listener} with
+ * {@link com.adashrod.timeperiod.TimePeriodMetrics#setListener(Listener, int)} to receive a callback for every format
+ * and parse. {@link com.adashrod.timeperiod.BulkTimePeriodParser} doesn't report individual lines.
+ *
+ * When no listener is registered, the only cost is one read of a static field and a branch on it being null, which
+ * the JIT compiler predicts perfectly. The listener and its sample interval are published together in one immutable
+ * registration behind a volatile field, so a listener can be registered or removed at any time, and every thread sees
+ * the change along with the sample interval that goes with it.
+ */
+public final class TimePeriodMetrics {
+    /**
+     * receives callbacks from the calling thread of each operation. Implementations must be thread-safe and fast, and
+     * shouldn't throw exceptions.
+     */
+    public interface Listener {
+        /**
+         * called after a successful format
+         * @param pattern the format string of the format
+         * @param nanos how long formatting took in nanoseconds, or -1 if this call wasn't sampled
+         */
+        default void formatted(final String pattern, final long nanos) {}
+
+        /**
+         * called after a successful parse
+         * @param pattern the format string of the format, or null for
+         *                {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)}
+         * @param nanos how long parsing took in nanoseconds, or -1 if this call wasn't sampled
+         */
+        default void parsed(final String pattern, final long nanos) {}
+
+        /**
+         * called after a failed parse, before any {@link java.text.ParseException} is thrown
+         * @param pattern the format string of the format, or null for
+         *                {@link com.adashrod.timeperiod.TimePeriod#parseAsWords(String)} and for a
+         *                {@link com.adashrod.timeperiod.TimePeriodFormatSet} that none of the formats matched
+         * @param error why parsing failed
+         * @param errorIndex the index in the input where parsing failed
+         * @param nanos how long parsing took in nanoseconds, or -1 if this call wasn't sampled
+         */
+        default void parseFailed(final String pattern, final ParseError error, final int errorIndex, final long nanos) {}
+    }
+
+    /**
+     * A listener along with how often to time operations for it
+     */
+    static final class Registration {
+        final Listener listener;
+        private final int sampleInterval;
+
+        private Registration(final Listener listener, final int sampleInterval) {
+            this.listener = listener;
+            this.sampleInterval = sampleInterval;
+        }
+
+        /**
+         * @return System.nanoTime() if the current operation should be timed, otherwise Long.MIN_VALUE
+         */
+        long startTimer() {
+            return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0 ? System.nanoTime() :
+                Long.MIN_VALUE;
+        }
+
+        /**
+         * Reports the outcome of a parse to listener
+         */
+        void reportParse(final String pattern, final ParseError error, final int errorIndex, final long start) {
+            final long nanos = stopTimer(start);
+            if (error == null) {
+                listener.parsed(pattern, nanos);
+            } else {
+                listener.parseFailed(pattern, error, errorIndex, nanos);
+            }
+        }
+    }
+
+    /**
+     * the registered listener, or null if there isn't one
+     */
+    static volatile Registration registration;
+
+    private TimePeriodMetrics() {}
+
+    /**
+     * Registers a listener that times every operation
+     * @param listener the listener, or null to stop reporting
+     */
+    public static void setListener(final Listener listener) {
+        setListener(listener, 1);
+    }
+
+    /**
+     * Registers a listener. Every operation is counted, and roughly one in every sampleInterval operations is timed.
+     * @param listener the listener, or null to stop reporting
+     * @param sampleInterval how often to time operations; 1 times every one
+     * @throws IllegalArgumentException if sampleInterval is less than 1
+     */
+    public static void setListener(final Listener listener, final int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException(String.format("sampleInterval must be positive: %d", sampleInterval));
+        }
+        registration = listener == null ? null : new Registration(listener, sampleInterval);
+    }
+
+    /**
+     * @return the registered listener, or null
+     */
+    public static Listener getListener() {
+        final Registration current = registration;
+        return current == null ? null : current.listener;
+    }
+
+    /**
+     * @param start the result of {@link com.adashrod.timeperiod.TimePeriodMetrics.Registration#startTimer()}
+     * @return nanoseconds since start, or -1 if the operation wasn't sampled
+     */
+    static long stopTimer(final long start) {
+        return start == Long.MIN_VALUE ? -1 : Math.max(0, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,116 @@
+package com.adashrod.timeperiod;
+
+import java.util.function.Consumer;
+
+/**
+ * A state object for collecting statistics such as count, sum, min, max, and average of
+ * {@link com.adashrod.timeperiod.TimePeriod}s, similar to {@link java.util.LongSummaryStatistics}. Everything is kept as
+ * primitive counts of milliseconds, so accepting a TimePeriod doesn't allocate anything; results are converted to
+ * normalized TimePeriods only when they're read.
+ * This class is not thread-safe, but it is designed to work with parallel streams: each thread accumulates into its
+ * own instance and instances are merged with {@link com.adashrod.timeperiod.TimePeriodSummaryStatistics#combine(TimePeriodSummaryStatistics)}.
+ * See {@link com.adashrod.timeperiod.TimePeriodCollectors}.
+ */
+public class TimePeriodSummaryStatistics implements Consumer<TimePeriod> {
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Records a TimePeriod
+     * @param timePeriod the period to record
+     * @throws ArithmeticException if timePeriod or the running sum is too long to be represented in milliseconds in a
+     *                             long
+     */
+    @Override
+    public void accept(final TimePeriod timePeriod) {
+        accept(timePeriod.toMillis());
+    }
+
+    /**
+     * Records a period of time
+     * @param milliseconds the length of the period
+     * @throws IllegalArgumentException if milliseconds is negative
+     * @throws ArithmeticException if the running sum is too long to be represented in milliseconds in a long, in which
+     *                             case nothing is recorded
+     */
+    public void accept(final long milliseconds) {
+        if (milliseconds < 0) {
+            throw new IllegalArgumentException(String.format("Negative length of time: %d", milliseconds));
+        }
+        // computed first so that an overflow leaves every field as it was
+        final long newSum = Math.addExact(sum, milliseconds);
+        count++;
+        sum = newSum;
+        min = Math.min(min, milliseconds);
+        max = Math.max(max, milliseconds);
+    }
+
+    /**
+     * Merges the state of other into this. The operation is associative, so partial results can be combined in any
+     * grouping.
+     * @param other other statistics
+     * @return this
+     * @throws ArithmeticException if the combined sum is too long to be represented in milliseconds in a long, in which
+     *                             case this is unchanged
+     */
+    public TimePeriodSummaryStatistics combine(final TimePeriodSummaryStatistics other) {
+        final long newSum = Math.addExact(sum, other.sum);
+        count += other.count;
+        sum = newSum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * @return how many periods have been recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of all periods in milliseconds
+     */
+    public long getSumMillis() {
+        return sum;
+    }
+
+    /**
+     * @return the sum of all periods, normalized
+     */
+    public TimePeriod getSum() {
+        return new TimePeriod(sum, TimeUnit.MILLISECOND);
+    }
+
+    /**
+     * @return the shortest period, or a period of length 0 if none have been recorded
+     */
+    public TimePeriod getMin() {
+        return new TimePeriod(count == 0 ? 0 : min, TimeUnit.MILLISECOND);
+    }
+
+    /**
+     * @return the longest period, or a period of length 0 if none have been recorded
+     */
+    public TimePeriod getMax() {
+        return new TimePeriod(count == 0 ? 0 : max, TimeUnit.MILLISECOND);
+    }
+
+    /**
+     * @return the mean of all periods, truncated to a whole number of milliseconds, or a period of length 0 if none
+     * have been recorded
+     */
+    public TimePeriod getAverage() {
+        return new TimePeriod(count == 0 ? 0 : sum / count, TimeUnit.MILLISECOND);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, sum=%dms, min=%dms, average=%dms, max=%dms}",
+            getClass().getSimpleName(), count, sum, count == 0 ? 0 : min, count == 0 ? 0 : sum / count,
+            count == 0 ? 0 : max);
+    }
+}
@@ -1,6 +1,7 @@
 package com.adashrod.timeperiod;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -9,16 +10,19 @@ import java.util.Map;
 public enum TimeUnit {
     // it's important that the smaller units have smaller rank values, so if any more are added, be sure that
     // smaller times have smaller ranks so that min() works properly
-    MILLISECOND(0, "millisecond", "ms"),
-    SECOND(0, "second", "s"),
-    MINUTE(1, "minute", "m"),
-    HOUR(2, "hour", "h"),
-    DAY(3, "day", "d"),
-    WEEK(4, "week", "w");
+    MILLISECOND(0, "millisecond", "ms", 1L, java.util.concurrent.TimeUnit.MILLISECONDS),
+    SECOND(1, "second", "s", 1000L, java.util.concurrent.TimeUnit.SECONDS),
+    MINUTE(2, "minute", "m", 60 * 1000L, java.util.concurrent.TimeUnit.MINUTES),
+    HOUR(3, "hour", "h", 60 * 60 * 1000L, java.util.concurrent.TimeUnit.HOURS),
+    DAY(4, "day", "d", 24 * 60 * 60 * 1000L, java.util.concurrent.TimeUnit.DAYS),
+    WEEK(5, "week", "w", 7 * 24 * 60 * 60 * 1000L, null);
 
     private final int rank;
+    private final long millisecondsPerUnit;
     private final String name;
+    private final String pluralName;
     private final String abbreviation;
+    private final java.util.concurrent.TimeUnit concurrentTimeUnit;
     private final static Map<String, TimeUnit> TIME_UNIT_MAP = new HashMap<>();
 
     static {
@@ -34,9 +38,13 @@ public enum TimeUnit {
         TIME_UNIT_MAP.put(WEEK.getPluralName(), WEEK);
     }
 
-    private TimeUnit(final int rank, final String name, final String abbreviation) {
+    private TimeUnit(final int rank, final String name, final String abbreviation, final long millisecondsPerUnit,
+            final java.util.concurrent.TimeUnit concurrentTimeUnit) {
         this.rank = rank;
+        this.concurrentTimeUnit = concurrentTimeUnit;
+        this.millisecondsPerUnit = millisecondsPerUnit;
         this.name = name;
+        this.pluralName = name + "s";
         this.abbreviation = abbreviation;
     }
 
@@ -45,13 +53,78 @@ public enum TimeUnit {
     }
 
     public String getPluralName() {
-        return name + "s";
+        return pluralName;
     }
 
     public String getAbbreviation() {
         return abbreviation;
     }
 
+    /**
+     * @param locale the locale to get the name in
+     * @return the singular name in locale, or the English name if locale has no names of its own
+     */
+    public String getSingularName(final Locale locale) {
+        return UnitNames.forLocale(locale).getSingularName(this);
+    }
+
+    /**
+     * @param locale the locale to get the name in
+     * @return the plural name in locale, or the English name if locale has no names of its own
+     */
+    public String getPluralName(final Locale locale) {
+        return UnitNames.forLocale(locale).getPluralName(this);
+    }
+
+    /**
+     * @param locale the locale to get the abbreviation in
+     * @return the abbreviation in locale, or the English abbreviation if locale has no names of its own
+     */
+    public String getAbbreviation(final Locale locale) {
+        return UnitNames.forLocale(locale).getAbbreviation(this);
+    }
+
+    /**
+     * @return how many milliseconds are in one of this unit
+     */
+    long getMillisecondsPerUnit() {
+        return millisecondsPerUnit;
+    }
+
+    /**
+     * @return the equivalent {@link java.util.concurrent.TimeUnit}
+     * @throws UnsupportedOperationException for WEEK, which has no equivalent
+     */
+    public java.util.concurrent.TimeUnit toConcurrentTimeUnit() {
+        if (concurrentTimeUnit == null) {
+            throw new UnsupportedOperationException(String.format("%s has no java.util.concurrent.TimeUnit equivalent",
+                this));
+        }
+        return concurrentTimeUnit;
+    }
+
+    /**
+     * @param concurrentTimeUnit a JDK TimeUnit
+     * @return the equivalent TimeUnit
+     * @throws IllegalArgumentException for units smaller than milliseconds, which have no equivalent
+     */
+    public static TimeUnit fromConcurrentTimeUnit(final java.util.concurrent.TimeUnit concurrentTimeUnit) {
+        switch (concurrentTimeUnit) {
+            case MILLISECONDS:
+                return MILLISECOND;
+            case SECONDS:
+                return SECOND;
+            case MINUTES:
+                return MINUTE;
+            case HOURS:
+                return HOUR;
+            case DAYS:
+                return DAY;
+            default:
+                throw new IllegalArgumentException(String.format("%s has no TimeUnit equivalent", concurrentTimeUnit));
+        }
+    }
+
     public static TimeUnit parseTimeUnit(final String timeString) {
         return TIME_UNIT_MAP.get(timeString.toLowerCase());
     }
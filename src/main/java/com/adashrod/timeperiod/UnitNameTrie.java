@@ -0,0 +1,75 @@
+package com.adashrod.timeperiod;
+
+import java.util.Arrays;
+
+/**
+ * A case-insensitive trie of unit names, used for recognizing units one char at a time without creating any substrings.
+ * Each node that ends a name knows which {@link com.adashrod.timeperiod.TimeUnit} the name refers to.
+ */
+class UnitNameTrie {
+    private final Node root = new Node();
+
+    /**
+     * Adds a name to the trie
+     * @param name the name of a unit, matched case-insensitively
+     * @param timeUnit the unit that name refers to
+     * @return this
+     */
+    UnitNameTrie add(final String name, final TimeUnit timeUnit) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrAddChild(Character.toLowerCase(name.charAt(i)));
+        }
+        node.timeUnit = timeUnit;
+        return this;
+    }
+
+    /**
+     * @return the node for the empty string, where matching starts
+     */
+    Node getRoot() {
+        return root;
+    }
+
+    static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        /**
+         * the unit named by the path to this node, or null if no name ends here
+         */
+        private TimeUnit timeUnit;
+
+        /**
+         * @param c the next char of input
+         * @return the child for c, ignoring case, or null if no name continues with c
+         */
+        Node getChild(final char c) {
+            final char lower = Character.toLowerCase(c);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == lower) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the unit named by the path to this node, or null if no name ends here
+         */
+        TimeUnit getTimeUnit() {
+            return timeUnit;
+        }
+
+        private Node getOrAddChild(final char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            return children[children.length - 1] = new Node();
+        }
+    }
+}
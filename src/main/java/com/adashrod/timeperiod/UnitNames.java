@@ -0,0 +1,118 @@
+package com.adashrod.timeperiod;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The singular names, plural names, and abbreviations of every {@link com.adashrod.timeperiod.TimeUnit} in one locale.
+ * English names come from TimeUnit itself; names for other locales are read from the properties files
+ * "com/adashrod/timeperiod/units_xx.properties" the first time the locale is asked for and are then cached, so a locale
+ * that is never used is never loaded. Keys are the lower-case unit followed by ".singular", ".plural", or
+ * ".abbreviation", e.g. "hour.plural". A locale without a file, or a file missing a key, falls back to English.
+ * Abbreviations that end with a period, e.g. "Std.", are recognized with or without it when parsing.
+ * Note: names are pluralized for every amount other than 1, for all locales.
+ */
+final class UnitNames {
+    private static final String bundleName = "com.adashrod.timeperiod.units";
+    private static final ConcurrentHashMap<Locale, UnitNames> cache = new ConcurrentHashMap<>();
+
+    /**
+     * names indexed by TimeUnit ordinal
+     */
+    private final String[] singularNames = new String[TimeUnit.values().length];
+    private final String[] pluralNames = new String[TimeUnit.values().length];
+    private final String[] abbreviations = new String[TimeUnit.values().length];
+    /**
+     * all of the above, for parseAsWords; built the first time it's asked for, since formatting doesn't need it
+     */
+    private volatile UnitNameTrie trie;
+
+    /**
+     * Holds the English names, so that they aren't created until they're first used
+     */
+    private static class EnglishHolder {
+        private static final UnitNames english = new UnitNames(null);
+    }
+
+    /**
+     * @param bundle the names to use, or null for English
+     */
+    private UnitNames(final ResourceBundle bundle) {
+        for (final TimeUnit timeUnit: TimeUnit.values()) {
+            final String key = timeUnit.name().toLowerCase(Locale.ROOT);
+            final int i = timeUnit.ordinal();
+            singularNames[i] = lookUp(bundle, key + ".singular", timeUnit.getSingularName());
+            pluralNames[i] = lookUp(bundle, key + ".plural", timeUnit.getPluralName());
+            abbreviations[i] = lookUp(bundle, key + ".abbreviation", timeUnit.getAbbreviation());
+        }
+    }
+
+    /**
+     * @return the English names, which come from TimeUnit itself
+     */
+    static UnitNames english() {
+        return EnglishHolder.english;
+    }
+
+    /**
+     * @param locale any locale
+     * @return the names for locale, loading them if this is the first time locale is used
+     */
+    static UnitNames forLocale(final Locale locale) {
+        if (locale.getLanguage().isEmpty() || locale.getLanguage().equals(Locale.ENGLISH.getLanguage())) {
+            return english();
+        }
+        return cache.computeIfAbsent(locale, UnitNames::load);
+    }
+
+    private static UnitNames load(final Locale locale) {
+        final ResourceBundle bundle;
+        try {
+            // without the no-fallback control, a locale with no file would get the default locale's names
+            bundle = ResourceBundle.getBundle(bundleName, locale, UnitNames.class.getClassLoader(),
+                ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES));
+        } catch (final MissingResourceException e) {
+            return english();
+        }
+        return new UnitNames(bundle);
+    }
+
+    private static String lookUp(final ResourceBundle bundle, final String key, final String fallback) {
+        return bundle != null && bundle.containsKey(key) ? bundle.getString(key) : fallback;
+    }
+
+    String getSingularName(final TimeUnit timeUnit) {
+        return singularNames[timeUnit.ordinal()];
+    }
+
+    String getPluralName(final TimeUnit timeUnit) {
+        return pluralNames[timeUnit.ordinal()];
+    }
+
+    String getAbbreviation(final TimeUnit timeUnit) {
+        return abbreviations[timeUnit.ordinal()];
+    }
+
+    /**
+     * @return a trie of every name in this locale
+     */
+    UnitNameTrie getTrie() {
+        UnitNameTrie result = trie;
+        if (result == null) {
+            // racing threads might each build one; they're identical, and the trie is never modified once published
+            result = new UnitNameTrie();
+            for (final TimeUnit timeUnit: TimeUnit.values()) {
+                final int i = timeUnit.ordinal();
+                result.add(singularNames[i], timeUnit).add(pluralNames[i], timeUnit).add(abbreviations[i], timeUnit);
+                if (abbreviations[i].length() > 1 && abbreviations[i].endsWith(".")) {
+                    // e.g. German "Std." is often written as "Std"
+                    result.add(abbreviations[i].substring(0, abbreviations[i].length() - 1), timeUnit);
+                }
+            }
+            trie = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package com.adashrod.timeperiod;
+
+/**
+ * An amount of a single {@link com.adashrod.timeperiod.TimeUnit}, e.g. 77 hours. This is the result type of
+ * {@link com.adashrod.timeperiod.TimePeriod#getLargestUnit(TimeUnit)}. Instances are mutable so that a caller can
+ * pass the same one to {@link com.adashrod.timeperiod.TimePeriod#getLargestUnit(TimeUnit, UnitQuantity)} repeatedly
+ * without allocating anything; because of that, they shouldn't be shared between threads.
+ */
+public final class UnitQuantity {
+    private long amount;
+    private TimeUnit unit;
+
+    public UnitQuantity() {}
+
+    public UnitQuantity(final long amount, final TimeUnit unit) {
+        this.amount = amount;
+        this.unit = unit;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    UnitQuantity set(final long amount, final TimeUnit unit) {
+        this.amount = amount;
+        this.unit = unit;
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UnitQuantity)) {
+            return false;
+        }
+        final UnitQuantity other = (UnitQuantity) o;
+        return amount == other.amount && unit == other.unit;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(amount) + (unit == null ? 0 : unit.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return unit == null ? String.valueOf(amount) : amount + " " + (amount == 1 ? unit.getSingularName() :
+            unit.getPluralName());
+    }
+}
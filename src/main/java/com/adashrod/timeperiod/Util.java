@@ -1,6 +1,20 @@
 package com.adashrod.timeperiod;
 
+import java.io.IOException;
+
 public class Util {
+    /**
+     * powers of ten that fit in a long, indexed by exponent
+     */
+    private static final long[] powersOfTen = new long[19];
+
+    static {
+        powersOfTen[0] = 1;
+        for (int i = 1; i < powersOfTen.length; i++) {
+            powersOfTen[i] = powersOfTen[i - 1] * 10;
+        }
+    }
+
     /**
      * Returns the number as a string, with a minimum length of desiredLength. If the number as a string is greater than
      * or equal to desiredLength, it is returned without any padding or truncation.
@@ -24,4 +38,32 @@ public class Util {
             return leadingZeroes.append(numString).toString();
         }
     }
+
+    /**
+     * Appends the number to appendable, with a minimum length of desiredLength. This produces the same text as
+     * {@link com.adashrod.timeperiod.Util#padWithZeroes(long, int)}, but writes it one char at a time, so no strings
+     * are created.
+     * @param appendable the destination to append to
+     * @param number the number to write
+     * @param desiredLength the minimum number of chars to write
+     * @throws IOException if appendable throws one
+     */
+    public static void appendPaddedNumber(final Appendable appendable, final long number, final int desiredLength) throws IOException {
+        // digits are computed from the negated number so that Long.MIN_VALUE doesn't overflow
+        final long negated = number < 0 ? number : -number;
+        int numDigits = 1;
+        while (numDigits < powersOfTen.length && negated <= -powersOfTen[numDigits]) {
+            numDigits++;
+        }
+        final int stringLength = number < 0 ? numDigits + 1 : numDigits;
+        for (int i = stringLength; i < desiredLength; i++) {
+            appendable.append('0');
+        }
+        if (number < 0) {
+            appendable.append('-');
+        }
+        for (int i = numDigits - 1; i >= 0; i--) {
+            appendable.append((char) ('0' - (negated / powersOfTen[i]) % 10));
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * unit tests for the BulkTimePeriodParser class
+ */
+public class BulkTimePeriodParserTests {
+    private static final TimePeriodFormat FULL_TIMESTAMP = new TimePeriodFormat("hh:mm:ss.zzz").freeze();
+
+    private static Path writeLines(final int count) throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i % 100 == 99) {
+                contents.append("not a time\n");
+            } else {
+                FULL_TIMESTAMP.formatMillisTo(i * 1001L, contents).append(i % 2 == 0 ? "\n" : "\r\n");
+            }
+        }
+        final Path file = Files.createTempFile("durations", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, contents.toString().getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    public void testParseIntoArray() throws IOException {
+        final Path file = writeLines(1000);
+        // small chunks so that the file is split into many pieces
+        final BulkTimePeriodParser parser = new BulkTimePeriodParser(FULL_TIMESTAMP, new ForkJoinPool(4), 100);
+        final BulkTimePeriodParser.Result result = parser.parse(file);
+        final long[] milliseconds = result.getMilliseconds();
+        assertEquals(1000, milliseconds.length);
+        for (int i = 0; i < milliseconds.length; i++) {
+            assertEquals(i % 100 == 99 ? -1 : i * 1001L, milliseconds[i]);
+        }
+        final List<BulkTimePeriodParser.LineError> errors = result.getErrors();
+        assertEquals(10, errors.size());
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals(100L * (i + 1), errors.get(i).getLineNumber());
+            assertEquals(0, errors.get(i).getErrorOffset());
+        }
+        assertEquals(990, result.toTimePeriodArray().size());
+    }
+
+    @Test
+    public void testParseWithHandler() throws IOException {
+        final Path file = writeLines(500);
+        final LongAdder sum = new LongAdder();
+        final LongAdder count = new LongAdder();
+        final List<BulkTimePeriodParser.LineError> errors = new BulkTimePeriodParser(FULL_TIMESTAMP)
+            .parse(file, (final long lineNumber, final long milliseconds) -> {
+                assertEquals((lineNumber - 1) * 1001, milliseconds);
+                sum.add(milliseconds);
+                count.increment();
+            });
+        assertEquals(5, errors.size());
+        assertEquals(495, count.sum());
+        long expected = 0;
+        for (int i = 0; i < 500; i++) {
+            if (i % 100 != 99) {
+                expected += i * 1001L;
+            }
+        }
+        assertEquals(expected, sum.sum());
+    }
+
+    @Test
+    public void testLastLineWithoutNewline() throws IOException {
+        final Path file = Files.createTempFile("durations", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, "00:00:01.000\n00:00:02.000".getBytes(StandardCharsets.US_ASCII));
+        final long[] milliseconds = new BulkTimePeriodParser(FULL_TIMESTAMP).parse(file).getMilliseconds();
+        assertEquals(2, milliseconds.length);
+        assertEquals(1000, milliseconds[0]);
+        assertEquals(2000, milliseconds[1]);
+    }
+
+    @Test
+    public void testLineTooLong() throws IOException {
+        final Path file = Files.createTempFile("durations", ".txt");
+        file.toFile().deleteOnExit();
+        // the hours on line 2 fit in a long, but not as milliseconds
+        Files.write(file, "~ 1h\n~ 9223372036854775807h\n".getBytes(StandardCharsets.US_ASCII));
+        final TimePeriodFormat format = new TimePeriodFormat("'~ 'h'h'").setMaxUnit(TimeUnit.HOUR);
+        final BulkTimePeriodParser.Result result = new BulkTimePeriodParser(format).parse(file);
+        assertEquals(60 * 60 * 1000L, result.getMilliseconds()[0]);
+        assertEquals(-1, result.getMilliseconds()[1]);
+        assertEquals(1, result.getErrors().size());
+        final BulkTimePeriodParser.LineError error = result.getErrors().get(0);
+        assertEquals(2, error.getLineNumber());
+        assertEquals(2, error.getErrorOffset());
+        assertEquals(ParseError.NUMERIC_TOKEN_TOO_LARGE.getMessage(), error.getMessage());
+    }
+}
@@ -0,0 +1,54 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import static com.adashrod.timeperiod.TimeUnit.DAY;
+import static com.adashrod.timeperiod.TimeUnit.HOUR;
+import static com.adashrod.timeperiod.TimeUnit.MILLISECOND;
+import static com.adashrod.timeperiod.TimeUnit.WEEK;
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * unit tests for the CompactTimePeriod class
+ */
+public class CompactTimePeriodTests {
+    @Test
+    public void testDerivedUnits() {
+        final CompactTimePeriod t = CompactTimePeriod.from(new TimePeriod(2, 3, 4, 5, 6, 7));
+        assertEquals(2, t.getWeeks());
+        assertEquals(3, t.getDays());
+        assertEquals(4, t.getHours());
+        assertEquals(5, t.getMinutes());
+        assertEquals(6, t.getSeconds());
+        assertEquals(7, t.getMilliseconds());
+        assertEquals(((((2L * 7 + 3) * 24 + 4) * 60 + 5) * 60 + 6) * 1000 + 7, t.toMillis());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final TimePeriod t = CompactTimePeriod.of(100, DAY).toTimePeriod();
+        assertEquals(14, t.getWeeks());
+        assertEquals(2, t.getDays());
+        assertEquals(0, t.getHours());
+        assertEquals(CompactTimePeriod.of(100, DAY), CompactTimePeriod.from(t));
+        assertEquals(CompactTimePeriod.of(1500, MILLISECOND), CompactTimePeriod.from(new TimePeriod(1500, MILLISECOND)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegative() {
+        CompactTimePeriod.ofMillis(-1);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testOverflow() {
+        CompactTimePeriod.of(Long.MAX_VALUE / 2, WEEK);
+    }
+
+    @Test
+    public void testFormat() {
+        final CompactTimePeriod t = CompactTimePeriod.from(new TimePeriod(0, 1, 2, 30, 15, 5));
+        assertEquals("02:30:15.005", new TimePeriodFormat("hh:mm:ss.zzz").format(t));
+        assertEquals("26:30:15.005", new TimePeriodFormat("hh:mm:ss.zzz").setMaxUnit(HOUR).format(t));
+        assertEquals("1 day, 2 hours", new TimePeriodFormat("d DD, h HH").format(t));
+    }
+}
@@ -0,0 +1,107 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.adashrod.timeperiod.TimeUnit.HOUR;
+import static com.adashrod.timeperiod.TimeUnit.MILLISECOND;
+import static com.adashrod.timeperiod.TimeUnit.WEEK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for the ConcurrentTimePeriodAccumulator class
+ */
+public class ConcurrentTimePeriodAccumulatorTests {
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        final ConcurrentTimePeriodAccumulator accumulator = new ConcurrentTimePeriodAccumulator();
+        final int threadCount = 8;
+        final int addsPerThread = 10000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(() -> {
+                final TimePeriod step = new TimePeriod(0, 0, 0, 0, 1, 500);
+                for (int j = 0; j < addsPerThread; j++) {
+                    accumulator.add(step);
+                    accumulator.add(500, MILLISECOND);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread: threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * addsPerThread * 2000L, accumulator.sumMillis());
+        final TimePeriod total = accumulator.sumThenReset();
+        assertEquals(1, total.getDays());
+        assertEquals(20, total.getHours());
+        assertEquals(26, total.getMinutes());
+        assertEquals(40, total.getSeconds());
+        assertEquals(0, accumulator.sumMillis());
+    }
+
+    @Test
+    public void testErrors() {
+        final ConcurrentTimePeriodAccumulator accumulator = new ConcurrentTimePeriodAccumulator();
+        try {
+            accumulator.add(-1, HOUR);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            accumulator.add(Long.MAX_VALUE, WEEK);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        accumulator.add(Long.MAX_VALUE, MILLISECOND);
+        accumulator.add(1, MILLISECOND);
+        try {
+            accumulator.snapshot();
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        accumulator.reset();
+        assertEquals(0, accumulator.snapshot().getSeconds());
+    }
+
+    @Test
+    public void testOverflowToZero() {
+        // the total is exactly 2^64 milliseconds, which would wrap around to 0 in a single long
+        final ConcurrentTimePeriodAccumulator accumulator = new ConcurrentTimePeriodAccumulator();
+        for (int i = 0; i < 4; i++) {
+            accumulator.add(Long.MAX_VALUE / 2 + 1, MILLISECOND);
+        }
+        try {
+            accumulator.sumMillis();
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        try {
+            accumulator.sumThenReset();
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        // the overflowed total wasn't discarded
+        try {
+            accumulator.sumMillis();
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        // toString still works, so that an overflowed accumulator can be logged
+        assertEquals("overflowed (high=" + (1L << 32) + ", low=0)", accumulator.toString());
+        accumulator.reset();
+        accumulator.add(new TimePeriod(0, 0, 0, 0, 0, 1));
+        accumulator.add(Long.MAX_VALUE - 1, MILLISECOND);
+        assertEquals(Long.MAX_VALUE, accumulator.sumMillis());
+    }
+}
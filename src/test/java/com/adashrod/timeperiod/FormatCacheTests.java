@@ -0,0 +1,39 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * unit tests for the FormatCache class
+ */
+public class FormatCacheTests {
+    @Test
+    public void testHotPatternSurvivesChurn() {
+        final FormatCache cache = new FormatCache(4);
+        final TimePeriodFormat hot = cache.get("hh:mm", null);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(true, cache.get("hh:mm", null) == hot);
+            cache.get(String.format("'%d' ss", i), null);
+        }
+        final TimePeriodFormat.CacheStatistics statistics = cache.getStatistics();
+        // the hot pattern was only ever compiled once
+        assertEquals(1000, statistics.getHitCount());
+        assertEquals(1001, statistics.getMissCount());
+        assertEquals(997, statistics.getEvictionCount());
+        assertEquals(4, statistics.getSize());
+    }
+
+    @Test
+    public void testJustInsertedIsKept() {
+        final FormatCache cache = new FormatCache(1);
+        for (int i = 0; i < 100; i++) {
+            final String pattern = String.format("'%d' ss", i);
+            final TimePeriodFormat format = cache.get(pattern, TimeUnit.SECOND);
+            // still cached, so this is a hit
+            assertEquals(true, cache.get(pattern, TimeUnit.SECOND) == format);
+        }
+        assertEquals(100, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.getStatistics().getSize());
+    }
+}
@@ -0,0 +1,99 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for the IsoDuration class
+ */
+public class IsoDurationTests {
+    @Test
+    public void testParse() throws ParseException {
+        assertEquals(14 * 24 * 60 * 60 * 1000L, IsoDuration.parse("P2W").toMillis());
+        assertEquals((90 * 60 + 15) * 1000L + 250, IsoDuration.parse("PT1H30M15.250S").toMillis());
+        assertEquals((36 * 60 * 60) * 1000L, IsoDuration.parse("P1DT12H").toMillis());
+        assertEquals(500, IsoDuration.parse("pt0,5s").toMillis());
+        assertEquals(123, IsoDuration.parse("PT0.123456789S").toMillis());
+        assertEquals(((8 * 24 + 1) * 60 * 60 + 2 * 60 + 3) * 1000L, IsoDuration.parse("P1W1DT1H2M3S").toMillis());
+        // fields are normalized
+        final TimePeriod timePeriod = IsoDuration.parse("PT90M");
+        assertEquals(1, timePeriod.getHours());
+        assertEquals(30, timePeriod.getMinutes());
+
+        // the same results as java.time for the units both support
+        for (final String text: new String[] {"PT0S", "P3D", "PT25H", "P2DT3H4M5.6S", "PT0.001S", "PT59M59.999S"}) {
+            assertEquals(Duration.parse(text).toMillis(), IsoDuration.parse(text).toMillis());
+        }
+    }
+
+    @Test
+    public void testParseFailure() {
+        final ParseResult result = new ParseResult();
+        final Object[][] failures = {
+            {"", ParseError.NOT_ISO_DURATION, 0},
+            {"P", ParseError.NOT_ISO_DURATION, 1},
+            {"PT", ParseError.NOT_ISO_DURATION, 2},
+            {"P1DT", ParseError.NOT_ISO_DURATION, 4},
+            {"1H", ParseError.NOT_ISO_DURATION, 0},
+            {"-PT1H", ParseError.NOT_ISO_DURATION, 0},
+            {"P1Y", ParseError.UNSUPPORTED_ISO_UNIT, 2},
+            {"P2M", ParseError.UNSUPPORTED_ISO_UNIT, 2},
+            {"PT1D", ParseError.NOT_ISO_DURATION, 3},
+            {"P1D2W", ParseError.NOT_ISO_DURATION, 4},
+            {"PT1H1H", ParseError.NOT_ISO_DURATION, 5},
+            {"PT1.5H", ParseError.NOT_ISO_DURATION, 5},
+            {"PT1.S", ParseError.NOT_ISO_DURATION, 4},
+            {"PT0.1234567891S", ParseError.NOT_ISO_DURATION, 13},
+            {"PT1H ", ParseError.NOT_ISO_DURATION, 4},
+            {"PT5", ParseError.NOT_ISO_DURATION, 3},
+            {"PT99999999999999999999S", ParseError.NUMBER_TOO_LARGE, 2},
+        };
+        for (final Object[] failure: failures) {
+            assertEquals((String) failure[0], false, IsoDuration.tryParse((String) failure[0], result));
+            assertEquals((String) failure[0], failure[1], result.getError());
+            assertEquals((String) failure[0], failure[2], result.getErrorIndex());
+        }
+        try {
+            IsoDuration.parse("P1M");
+            fail();
+        } catch (final ParseException pe) {
+            assertEquals(ParseError.UNSUPPORTED_ISO_UNIT.getMessage(), pe.getMessage());
+        }
+    }
+
+    @Test
+    public void testFormat() throws ParseException {
+        assertEquals("PT0S", IsoDuration.format(new TimePeriod()));
+        assertEquals("P2W", IsoDuration.format(new TimePeriod(14, TimeUnit.DAY)));
+        assertEquals("P9D", IsoDuration.format(new TimePeriod(9, TimeUnit.DAY)));
+        assertEquals("P14DT1H", IsoDuration.format(new TimePeriod(2, 0, 1, 0, 0, 0)));
+        assertEquals("PT1H30M15.25S", IsoDuration.format(new TimePeriod(0, 0, 1, 30, 15, 250)));
+        assertEquals("PT0.5S", IsoDuration.format(new TimePeriod(500, TimeUnit.MILLISECOND)));
+        assertEquals("PT0.007S", IsoDuration.format(new TimePeriod(7, TimeUnit.MILLISECOND)));
+        assertEquals("P1DT2M", IsoDuration.format(new TimePeriod(0, 1, 0, 2, 0, 0)));
+        assertEquals("x P1DT12H", IsoDuration.formatTo(new TimePeriod(36 * 60, TimeUnit.MINUTE),
+            new StringBuilder("x ")).toString());
+
+        for (final String text: new String[] {"PT0S", "P3W", "P10DT23H59M59.999S", "PT1M0.01S"}) {
+            assertEquals(text, IsoDuration.format(IsoDuration.parse(text)));
+        }
+    }
+
+    @Test
+    public void testFormatDoesNotNormalize() {
+        final TimePeriod timePeriod = new TimePeriod(0, 1, 12, 0, 1, 1500).denormalize(TimeUnit.HOUR);
+        assertEquals("P1DT12H2.5S", IsoDuration.format(timePeriod));
+        assertEquals(36, timePeriod.getDenormalizedHours());
+        assertEquals(500, timePeriod.getDenormalizedMilliseconds());
+        assertEquals(0, timePeriod.getDenormalizedDays());
+
+        final TimePeriod milliseconds = new TimePeriod(0, 0, 0, 1, 1, 500).denormalize(TimeUnit.MILLISECOND);
+        assertEquals("PT1M1.5S", IsoDuration.format(milliseconds));
+        assertEquals(61500, milliseconds.getDenormalizedMilliseconds());
+    }
+}
@@ -0,0 +1,71 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static com.adashrod.timeperiod.TimeUnit.HOUR;
+import static com.adashrod.timeperiod.TimeUnit.MINUTE;
+import static com.adashrod.timeperiod.TimeUnit.WEEK;
+import static junit.framework.Assert.assertEquals;
+
+/**
+ * unit tests for the TimePeriodArray class
+ */
+public class TimePeriodArrayTests {
+    @Test
+    public void testNormalizeAndDenormalize() {
+        final TimePeriodArray array = new TimePeriodArray()
+            .add(new TimePeriod(0, 2, 3, 30, 0, 0))
+            .add(new TimePeriod(1, 0, 0, 59, 1, 0))
+            .add(new TimePeriod(90, MINUTE));
+        final long[] hours = array.normalize(HOUR, null);
+        assertEquals(3, hours[0]);
+        assertEquals(0, hours[1]);
+        assertEquals(1, hours[2]);
+        final long[] minutes = array.normalize(MINUTE, new long[3]);
+        assertEquals(30, minutes[0]);
+        assertEquals(59, minutes[1]);
+        assertEquals(30, minutes[2]);
+        assertEquals(1, array.normalize(WEEK, null)[1]);
+        final long[] totalHours = array.denormalize(HOUR, null);
+        assertEquals(51, totalHours[0]);
+        assertEquals(168, totalHours[1]);
+        assertEquals(1, totalHours[2]);
+    }
+
+    @Test
+    public void testAggregates() {
+        final TimePeriodArray array = new TimePeriodArray(1);
+        for (int i = 1; i <= 1000; i++) {
+            array.add(i);
+        }
+        assertEquals(1000, array.size());
+        assertEquals(500500, array.sumMillis());
+        assertEquals(1, array.min().toMillis());
+        assertEquals(1000, array.max().toMillis());
+        final TimePeriodArray large = new TimePeriodArray(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2);
+        assertEquals(Long.MAX_VALUE - 1, large.sumMillis());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testSumOverflow() {
+        new TimePeriodArray(Long.MAX_VALUE, 1).sumMillis();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmpty() {
+        new TimePeriodArray().min();
+    }
+
+    @Test
+    public void testFormatElements() {
+        final TimePeriodArray array = new TimePeriodArray(3723004, 59000);
+        final TimePeriodFormat format = new TimePeriodFormat("hh:mm:ss.zzz");
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < array.size(); i++) {
+            format.formatMillisTo(array.getMillis(i), stringBuilder).append(';');
+        }
+        assertEquals("01:02:03.004;00:00:59.000;", stringBuilder.toString());
+    }
+}
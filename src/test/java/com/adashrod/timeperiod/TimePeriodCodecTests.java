@@ -0,0 +1,203 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.adashrod.timeperiod.TimeUnit.HOUR;
+import static com.adashrod.timeperiod.TimeUnit.SECOND;
+import static com.adashrod.timeperiod.TimeUnit.WEEK;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for the TimePeriodCodec class
+ */
+public class TimePeriodCodecTests {
+    private static final TimePeriod[] samples = {
+        new TimePeriod(),
+        new TimePeriod(63, TimeUnit.MILLISECOND),
+        new TimePeriod(64, TimeUnit.MILLISECOND),
+        new TimePeriod(90, SECOND),
+        new TimePeriod(2, 3, 4, 5, 6, 7),
+        new TimePeriod(Long.MAX_VALUE, TimeUnit.MILLISECOND),
+        new TimePeriod(Long.MAX_VALUE / 2, WEEK),
+        new TimePeriod(Long.MAX_VALUE, WEEK).setDays(6).setMilliseconds(999)
+    };
+
+    @Test
+    public void testRoundTripBytes() {
+        for (final TimePeriod timePeriod: samples) {
+            final byte[] bytes = TimePeriodCodec.encode(timePeriod);
+            assertEquals(TimePeriodCodec.encodedLength(timePeriod), bytes.length);
+            assertSame(timePeriod, TimePeriodCodec.decode(bytes));
+        }
+        assertEquals(1, TimePeriodCodec.encode(new TimePeriod(63, TimeUnit.MILLISECOND)).length);
+        assertEquals(2, TimePeriodCodec.encode(new TimePeriod(64, TimeUnit.MILLISECOND)).length);
+        assertEquals(3, TimePeriodCodec.encode(new TimePeriod(90, SECOND)).length);
+        assertEquals(10, TimePeriodCodec.encode(new TimePeriod(Long.MAX_VALUE, TimeUnit.MILLISECOND)).length);
+    }
+
+    @Test
+    public void testUnitLayout() {
+        final TimePeriod timePeriod = new TimePeriod(Long.MAX_VALUE, WEEK).setDays(6).setMilliseconds(999);
+        final byte[] bytes = TimePeriodCodec.encode(timePeriod);
+        // weeks, days and milliseconds are present
+        assertEquals((1 << WEEK.ordinal() | 1 << TimeUnit.DAY.ordinal() | 1 << TimeUnit.MILLISECOND.ordinal()) << 1 | 1,
+            bytes[0]);
+        assertEquals(1 + 9 + 1 + 2, bytes.length);
+        final TimePeriod decoded = TimePeriodCodec.decode(bytes);
+        assertEquals(Long.MAX_VALUE, decoded.getWeeks());
+        assertEquals(6, decoded.getDays());
+        assertEquals(999, decoded.getMilliseconds());
+        try {
+            TimePeriodCodec.decodeMillis(ByteBuffer.wrap(bytes));
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testByteBufferAndBulk() {
+        final ByteBuffer buffer = ByteBuffer.allocate(samples.length * TimePeriodCodec.maxEncodedLength);
+        TimePeriodCodec.encodeAll(samples, buffer);
+        buffer.flip();
+        final TimePeriod[] decoded = new TimePeriod[samples.length];
+        TimePeriodCodec.decodeAll(buffer, decoded);
+        assertEquals(0, buffer.remaining());
+        for (int i = 0; i < samples.length; i++) {
+            assertSame(samples[i], decoded[i]);
+        }
+
+        final long[] milliseconds = {0, 1, 1000, 3_600_000, Long.MAX_VALUE};
+        final byte[] bytes = TimePeriodCodec.encodeAll(milliseconds);
+        final long[] decodedMillis = new long[milliseconds.length];
+        TimePeriodCodec.decodeAll(ByteBuffer.wrap(bytes), decodedMillis);
+        for (int i = 0; i < milliseconds.length; i++) {
+            assertEquals(milliseconds[i], decodedMillis[i]);
+        }
+        // a TimePeriod and its length in milliseconds are encoded identically
+        final byte[] hour = new byte[TimePeriodCodec.encodedLength(3_600_000)];
+        TimePeriodCodec.encodeMillis(3_600_000, hour, 0);
+        assertArrayEquals(hour, TimePeriodCodec.encode(new TimePeriod(1, TimeUnit.HOUR)));
+    }
+
+    @Test
+    public void testDataStreams() throws IOException {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(byteStream);
+        for (final TimePeriod timePeriod: samples) {
+            TimePeriodCodec.encode(timePeriod, out);
+        }
+        TimePeriodCodec.encodeMillis(12345, out);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(byteStream.toByteArray()));
+        for (final TimePeriod timePeriod: samples) {
+            assertSame(timePeriod, TimePeriodCodec.decode(in));
+        }
+        assertEquals(12345, TimePeriodCodec.decodeMillis(in));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testMalformed() {
+        final byte[][] malformed = {
+            {},
+            // truncated varint
+            {(byte) 0x80},
+            // overlong encoding of 0
+            {(byte) 0x80, 0},
+            // extra byte at the end
+            {2, 2},
+            // layout header with an unknown unit bit
+            {(byte) 0x81, 1},
+            // layout header promising a field that isn't there
+            {3},
+            // 11-byte varint
+            {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+                (byte) 0xff, (byte) 0xff, 1}
+        };
+        for (final byte[] bytes: malformed) {
+            try {
+                TimePeriodCodec.decode(bytes);
+                fail();
+            } catch (final IllegalArgumentException iae) {
+                // expected
+            }
+        }
+        try {
+            TimePeriodCodec.encodedLength(-1);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLayoutTooLong() {
+        // Long.MAX_VALUE weeks and 7 days is one week too many once normalized
+        final byte weeksAndDays = (byte) ((1 << WEEK.ordinal() | 1 << TimeUnit.DAY.ordinal()) << 1 | 1);
+        final byte[] encoded = {weeksAndDays, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+            (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x7f, 7};
+        try {
+            TimePeriodCodec.decode(encoded);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            TimePeriodCodec.decode(ByteBuffer.wrap(encoded));
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+
+        // a layout that fits keeps its raw fields until they're read with the getters
+        final TimePeriod decoded = TimePeriodCodec.decode(new byte[] {weeksAndDays, 1, 8});
+        assertEquals(1, decoded.get(WEEK));
+        assertEquals(8, decoded.get(TimeUnit.DAY));
+        assertEquals(2, decoded.getWeeks());
+        assertEquals(1, decoded.getDays());
+    }
+
+    @Test
+    public void testDenormalizedRoundTrip() throws IOException {
+        final TimePeriod timePeriod = new TimePeriod(219, HOUR).denormalize(HOUR);
+        final byte[] bytes = TimePeriodCodec.encode(timePeriod);
+        assertEquals((1 << HOUR.ordinal()) << 1 | 1, bytes[0]);
+        assertEquals(TimePeriodCodec.encodedLength(timePeriod), bytes.length);
+        // encoding doesn't normalize the period
+        assertEquals(219, timePeriod.get(HOUR));
+        assertRaw(timePeriod, TimePeriodCodec.decode(bytes));
+        assertRaw(timePeriod, TimePeriodCodec.decode(ByteBuffer.wrap(bytes)));
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        TimePeriodCodec.encode(timePeriod, new DataOutputStream(byteStream));
+        assertRaw(timePeriod, TimePeriodCodec.decode(new DataInputStream(new ByteArrayInputStream(
+            byteStream.toByteArray()))));
+        assertEquals(219 * 3_600_000L, TimePeriodCodec.decodeMillis(ByteBuffer.wrap(bytes)));
+
+        // the same length, normalized, is still written as milliseconds
+        assertEquals(0, TimePeriodCodec.encode(new TimePeriod(219, HOUR))[0] & 1);
+    }
+
+    private static void assertRaw(final TimePeriod expected, final TimePeriod actual) {
+        for (final TimeUnit timeUnit: TimeUnit.values()) {
+            assertEquals(expected.get(timeUnit), actual.get(timeUnit));
+        }
+    }
+
+    private static void assertSame(final TimePeriod expected, final TimePeriod actual) {
+        assertEquals(expected.getWeeks(), actual.getWeeks());
+        assertEquals(expected.getDays(), actual.getDays());
+        assertEquals(expected.getHours(), actual.getHours());
+        assertEquals(expected.getMinutes(), actual.getMinutes());
+        assertEquals(expected.getSeconds(), actual.getSeconds());
+        assertEquals(expected.getMilliseconds(), actual.getMilliseconds());
+    }
+}
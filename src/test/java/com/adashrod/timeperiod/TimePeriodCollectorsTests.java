@@ -0,0 +1,106 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collector;
+
+import static com.adashrod.timeperiod.TimeUnit.MILLISECOND;
+import static com.adashrod.timeperiod.TimeUnit.MINUTE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for TimePeriodCollectors and TimePeriodSummaryStatistics
+ */
+public class TimePeriodCollectorsTests {
+    @Test
+    public void testSummarizing() {
+        final List<TimePeriod> timePeriods = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            timePeriods.add(new TimePeriod(i, MINUTE));
+        }
+        final TimePeriodSummaryStatistics statistics = timePeriods.stream().collect(TimePeriodCollectors.summarizing());
+        assertEquals(100, statistics.getCount());
+        assertEquals(5050L * 60 * 1000, statistics.getSumMillis());
+        assertEquals(3, statistics.getSum().getDays());
+        assertEquals(12, statistics.getSum().getHours());
+        assertEquals(10, statistics.getSum().getMinutes());
+        assertEquals(1, statistics.getMin().getMinutes());
+        assertEquals(1, statistics.getMax().getHours());
+        assertEquals(40, statistics.getMax().getMinutes());
+        assertEquals(50, statistics.getAverage().getMinutes());
+        assertEquals(30, statistics.getAverage().getSeconds());
+        assertEquals(EnumSet.of(Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED),
+            TimePeriodCollectors.summarizing().characteristics());
+    }
+
+    @Test
+    public void testParallel() {
+        final List<TimePeriod> timePeriods = new ArrayList<>();
+        long expected = 0;
+        for (int i = 0; i < 100000; i++) {
+            timePeriods.add(new TimePeriod(i, MILLISECOND));
+            expected += i;
+        }
+        final TimePeriod sum = timePeriods.parallelStream().collect(TimePeriodCollectors.summing());
+        assertEquals(expected, sum.toMillis());
+        assertEquals(99999, timePeriods.parallelStream().collect(TimePeriodCollectors.max()).get().toMillis());
+        assertEquals(0, timePeriods.parallelStream().collect(TimePeriodCollectors.min()).get().toMillis());
+        assertEquals(49999, timePeriods.parallelStream().collect(TimePeriodCollectors.averaging()).toMillis());
+    }
+
+    @Test
+    public void testEmpty() {
+        final List<TimePeriod> empty = Collections.emptyList();
+        assertEquals(0, empty.stream().collect(TimePeriodCollectors.summing()).toMillis());
+        assertEquals(0, empty.stream().collect(TimePeriodCollectors.averaging()).toMillis());
+        assertFalse(empty.stream().collect(TimePeriodCollectors.min()).isPresent());
+        assertFalse(empty.stream().collect(TimePeriodCollectors.max()).isPresent());
+    }
+
+    @Test
+    public void testNegativeRejected() {
+        final TimePeriodSummaryStatistics statistics = new TimePeriodSummaryStatistics();
+        statistics.accept(5);
+        try {
+            statistics.accept(-1);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        assertEquals(1, statistics.getCount());
+        assertEquals(5, statistics.getSumMillis());
+        assertEquals(5, statistics.getMin().getMilliseconds());
+    }
+
+    @Test
+    public void testOverflowLeavesStatisticsUnchanged() {
+        final TimePeriodSummaryStatistics statistics = new TimePeriodSummaryStatistics();
+        statistics.accept(Long.MAX_VALUE - 10);
+        statistics.accept(4);
+        try {
+            statistics.accept(100);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        final TimePeriodSummaryStatistics other = new TimePeriodSummaryStatistics();
+        other.accept(1000);
+        try {
+            statistics.combine(other);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        assertEquals(2, statistics.getCount());
+        assertEquals(Long.MAX_VALUE - 6, statistics.getSumMillis());
+        assertEquals((Long.MAX_VALUE - 6) / 2, statistics.getAverage().toMillis());
+        assertEquals(4, statistics.getMin().toMillis());
+        assertEquals(Long.MAX_VALUE - 10, statistics.getMax().toMillis());
+    }
+}
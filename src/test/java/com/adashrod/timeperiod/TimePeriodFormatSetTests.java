@@ -0,0 +1,121 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for the TimePeriodFormatSet class
+ */
+public class TimePeriodFormatSetTests {
+    @Test
+    public void testParseReportsMatchingFormat() {
+        final TimePeriodFormatSet formatSet = TimePeriodFormatSet.ofPatterns("hh:mm:ss", "h HH m MM", "d'd' h'h'");
+        final ParseResult result = new ParseResult();
+
+        assertEquals(0, formatSet.tryParse("01:30:15", result));
+        assertEquals((90 * 60 + 15) * 1000L, result.toMillis());
+        assertEquals(1, formatSet.tryParse("2 hours 5 minutes", result));
+        assertEquals(125 * 60 * 1000L, result.toMillis());
+        assertEquals(1, formatSet.tryParse("1 hour 1 minute", result));
+        assertEquals(61 * 60 * 1000L, result.toMillis());
+        assertEquals(2, formatSet.tryParse("3d 4h", result));
+        assertEquals((3 * 24 + 4) * 60 * 60 * 1000L, result.toMillis());
+        assertEquals(3, formatSet.size());
+        assertEquals("d'd' h'h'", formatSet.getFormat(2).toPattern());
+    }
+
+    @Test
+    public void testParseFailure() {
+        final TimePeriodFormatSet formatSet = TimePeriodFormatSet.ofPatterns("hh:mm:ss", "h HH m MM", "d'd' h'h'");
+        final ParseResult result = new ParseResult();
+
+        // the error is the one from the format that got furthest
+        assertEquals(-1, formatSet.tryParse("01:30:x", result));
+        assertEquals(ParseError.MISSING_NUMERIC_TOKEN, result.getError());
+        assertEquals(6, result.getErrorIndex());
+        assertEquals(-1, formatSet.tryParse("2 hours 5 mins", result));
+        assertEquals(ParseError.NON_NUMERIC_TOKEN_NOT_FOUND, result.getError());
+        assertEquals(10, result.getErrorIndex());
+        assertEquals(-1, formatSet.tryParse("3d 4h ago", result));
+        assertEquals(ParseError.EXTRA_CHARACTERS, result.getError());
+        assertEquals(5, result.getErrorIndex());
+        assertEquals(-1, formatSet.tryParse("", result));
+        assertEquals(ParseError.MISSING_NUMERIC_TOKEN, result.getError());
+        assertEquals(false, result.isSuccess());
+
+        // a failure doesn't leave anything behind for the next parse
+        assertEquals(0, formatSet.tryParse("00:00:01", result));
+        assertEquals(1000L, result.toMillis());
+        try {
+            formatSet.parse("1 day");
+            fail();
+        } catch (final ParseException pe) {
+            assertEquals(2, pe.getErrorOffset());
+        }
+    }
+
+    @Test
+    public void testMatchedFormatFailsToRead() {
+        // the digits fit in a long, so the format matches, but the weeks don't fit in a long of days
+        final TimePeriodFormatSet formatSet = new TimePeriodFormatSet(new TimePeriodFormat("w:d")
+            .setMaxUnit(TimeUnit.DAY));
+        final ParseResult result = new ParseResult();
+        assertEquals(-1, formatSet.tryParse("9223372036854775807:7", result));
+        assertEquals(false, result.isSuccess());
+        assertEquals(ParseError.NUMERIC_TOKEN_TOO_LARGE, result.getError());
+        try {
+            formatSet.parse("9223372036854775807:7");
+            fail();
+        } catch (final ParseException pe) {
+            assertEquals(ParseError.NUMERIC_TOKEN_TOO_LARGE.getMessage(), pe.getMessage());
+            assertEquals(result.getErrorIndex(), pe.getErrorOffset());
+        }
+    }
+
+    @Test
+    public void testLaterFormatReadsWhatFirstMatchCannot() throws ParseException {
+        // the first format matches, but Long.MAX_VALUE weeks and 7 days don't fit, so the days and hours format wins,
+        // the same as it would if each format were tried in order
+        final TimePeriodFormatSet formatSet = new TimePeriodFormatSet(new TimePeriodFormat("w:d")
+            .setMaxUnit(TimeUnit.DAY), TimePeriodFormat.ofPattern("hh:mm:ss"), new TimePeriodFormat("d:h")
+            .setMaxUnit(TimeUnit.DAY));
+        final ParseResult result = new ParseResult();
+        assertEquals(2, formatSet.tryParse("9223372036854775807:7", result));
+        assertEquals(Long.MAX_VALUE / 7, result.toTimePeriod().getWeeks());
+        assertEquals(7, result.toTimePeriod().getHours());
+        assertEquals(7, formatSet.parse("9223372036854775807:7").getHours());
+        assertEquals(0, formatSet.tryParse("2:3", result));
+        assertEquals(2, result.toTimePeriod().getWeeks());
+    }
+
+    @Test
+    public void testFirstMatchingFormatWins() throws ParseException {
+        // both match "5:30"; the order the formats are given in decides
+        assertEquals(0, TimePeriodFormatSet.ofPatterns("m:ss", "h:mm").tryParse("5:30", new ParseResult()));
+        assertEquals(0, TimePeriodFormatSet.ofPatterns("h:mm", "m:ss").tryParse("5:30", new ParseResult()));
+        assertEquals(330 * 60 * 1000L, TimePeriodFormatSet.ofPatterns("h:mm", "m:ss").parse("5:30").toMillis());
+        // a later, more specific format matches where an earlier one fails
+        final TimePeriodFormatSet formatSet = TimePeriodFormatSet.ofPatterns("h:mm", "h:mm:ss", "h:mm:ss.zzz");
+        assertEquals(1, formatSet.tryParse("1:02:03", new ParseResult()));
+        assertEquals(2, formatSet.tryParse("1:02:03.004", new ParseResult()));
+    }
+
+    @Test
+    public void testMaxUnitIsFrozen() throws ParseException {
+        final TimePeriodFormat hoursAndMinutes = new TimePeriodFormat("hh:mm").setMaxUnit(TimeUnit.HOUR);
+        final TimePeriodFormatSet formatSet = new TimePeriodFormatSet(hoursAndMinutes, new TimePeriodFormat("d'd'"));
+        hoursAndMinutes.setMaxUnit(null);
+        assertEquals(100 * 60 * 60 * 1000L, formatSet.parse("100:00").toMillis());
+        assertEquals(TimeUnit.HOUR, formatSet.getFormat(0).getMaxUnit());
+        try {
+            new TimePeriodFormatSet();
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+}
@@ -2,9 +2,27 @@ package com.adashrod.timeperiod;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
 import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
-import static junit.framework.Assert.assertEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class TimePeriodFormatTests {
     private static final TimePeriodFormat HH_MM_SS_TIMESTAMP = new TimePeriodFormat("hh:mm:ss");
@@ -40,7 +58,7 @@ public class TimePeriodFormatTests {
             assertEquals(2, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -51,7 +69,7 @@ public class TimePeriodFormatTests {
             assertEquals(4, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -62,7 +80,7 @@ public class TimePeriodFormatTests {
             assertEquals(2, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -73,7 +91,7 @@ public class TimePeriodFormatTests {
             assertEquals(7, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -84,7 +102,7 @@ public class TimePeriodFormatTests {
             assertEquals(5, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -105,6 +123,15 @@ public class TimePeriodFormatTests {
         assertEquals("01:47:32.134", FULL_TIMESTAMP.format(t));
     }
 
+    @Test
+    public void testFormatToAppendsToBuffer() throws IOException {
+        final TimePeriod t = new TimePeriod(0, 0, 1, 47, 32, 134);
+        final StringBuilder stringBuilder = new StringBuilder("elapsed: ");
+        FULL_TIMESTAMP.formatTo(t, stringBuilder).append(", ");
+        WITH_PLAIN_TEXT.formatTo(new TimePeriod(0, 0, 1, 1, 1, 1), (Appendable) stringBuilder);
+        assertEquals("elapsed: 01:47:32.134, 1 hour and 1 minute and 1 second and 1 millisecond", stringBuilder.toString());
+    }
+
     @Test
     public void testWordyParsingGood() throws ParseException {
         final TimePeriod t1 = WITH_PLAIN_TEXT.parse("7 hours and 56 minutes and 4 seconds and 123 milliseconds");
@@ -141,7 +168,7 @@ public class TimePeriodFormatTests {
             assertEquals(8, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -163,6 +190,47 @@ public class TimePeriodFormatTests {
         assertEquals(4, timePeriod4.getMilliseconds());
     }
 
+    @Test
+    public void testQuotedSpecialCharParsingBad() {
+        // quoted text is matched exactly, so the quoted dot is not a wildcard either
+        final TimePeriodFormat format = new TimePeriodFormat("s'.'zzz");
+        try {
+            format.parse("12x345");
+        } catch (final ParseException pe) {
+            assertEquals(2, pe.getErrorOffset());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void testSingularAndPluralUnitNameParsing() throws ParseException {
+        final TimePeriodFormat format = new TimePeriodFormat("h HH, s SS");
+        final TimePeriod t1 = format.parse("1 hour, 2 seconds");
+        assertEquals(1, t1.getHours());
+        assertEquals(2, t1.getSeconds());
+        final TimePeriod t2 = format.parse("3 hours, 1 second");
+        assertEquals(3, t2.getHours());
+        assertEquals(1, t2.getSeconds());
+    }
+
+    @Test
+    public void testLongHostileInputFailsFast() {
+        final StringBuilder input = new StringBuilder("1 hours and ");
+        for (int i = 0; i < 1000000; i++) {
+            input.append('x');
+        }
+        final long start = System.nanoTime();
+        try {
+            WITH_PLAIN_TEXT.parse(input.toString());
+        } catch (final ParseException pe) {
+            assertEquals(12, pe.getErrorOffset());
+            assertTrue(System.nanoTime() - start < 1000000000L);
+            return;
+        }
+        fail();
+    }
+
     @Test
     public void testSetMaxUnitFormat() {
         MM_SS_TIMESTAMP.setMaxUnit(TimeUnit.MINUTE);
@@ -192,4 +260,245 @@ public class TimePeriodFormatTests {
         assertEquals(0, t2.getSeconds());
         MMMM_SS_TIMESTAMP.setMaxUnit(null);
     }
+
+    @Test
+    public void testFormatDoesNotModifyTimePeriod() {
+        final TimePeriod t = new TimePeriod(0, 1, 2, 30, 15, 0);
+        final TimePeriodFormat format = new TimePeriodFormat("hh:mm:ss").setMaxUnit(TimeUnit.HOUR);
+        assertEquals("26:30:15", format.format(t));
+        assertEquals(1, t.getDenormalizedDays());
+        assertEquals(2, t.getDenormalizedHours());
+    }
+
+    @Test
+    public void testFrozenFormatCannotBeModified() {
+        final TimePeriodFormat frozen = new TimePeriodFormat("mm:ss").setMaxUnit(TimeUnit.MINUTE).freeze();
+        assertTrue(frozen.isFrozen());
+        assertEquals(TimeUnit.MINUTE, frozen.getMaxUnit());
+        assertEquals(frozen, frozen.freeze());
+        try {
+            frozen.setMaxUnit(TimeUnit.HOUR);
+        } catch (final UnsupportedOperationException uoe) {
+            assertEquals("90:15", frozen.format(new TimePeriod(0, 0, 1, 30, 15, 0)));
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void testConcurrentFormattingAndParsing() throws InterruptedException, ExecutionException {
+        final TimePeriodFormat format = new TimePeriodFormat("hh:mm:ss.zzz").setMaxUnit(TimeUnit.HOUR).freeze();
+        final TimePeriod[] shared = new TimePeriod[16];
+        final String[] expected = new String[shared.length];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new TimePeriod(i % 3, i, 23 - i, 59 - i, i * 3, i * 61);
+            expected[i] = format.format(shared[i]);
+        }
+        final int numThreads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            final int offset = t;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                int mismatches = 0;
+                final StringBuilder stringBuilder = new StringBuilder();
+                for (int i = 0; i < 20000; i++) {
+                    final int index = (i + offset) % shared.length;
+                    stringBuilder.setLength(0);
+                    format.formatTo(shared[index], stringBuilder);
+                    if (!expected[index].contentEquals(stringBuilder)) {
+                        mismatches++;
+                    }
+                    final TimePeriod parsed = format.parse(expected[index]);
+                    if (!expected[index].equals(format.format(parsed))) {
+                        mismatches++;
+                    }
+                }
+                return mismatches;
+            }));
+        }
+        startLatch.countDown();
+        for (final Future<Integer> future: futures) {
+            assertEquals(0, (int) future.get());
+        }
+        executor.shutdown();
+        for (int i = 0; i < shared.length; i++) {
+            assertEquals(expected[i], format.format(shared[i]));
+        }
+    }
+
+    @Test
+    public void testOfPatternIsCached() {
+        final TimePeriodFormat.CacheStatistics before = TimePeriodFormat.getCacheStatistics();
+        final TimePeriodFormat f1 = TimePeriodFormat.ofPattern("'cached' hh:mm");
+        final TimePeriodFormat f2 = TimePeriodFormat.ofPattern("'cached' hh:mm");
+        final TimePeriodFormat f3 = TimePeriodFormat.ofPattern("'cached' hh:mm", TimeUnit.HOUR);
+        assertSame(f1, f2);
+        assertNotSame(f1, f3);
+        assertTrue(f1.isFrozen());
+        assertEquals(TimeUnit.HOUR, f3.getMaxUnit());
+        assertEquals("cached 26:00", f3.format(new TimePeriod(26, TimeUnit.HOUR)));
+        final TimePeriodFormat.CacheStatistics after = TimePeriodFormat.getCacheStatistics();
+        assertEquals(before.getMissCount() + 2, after.getMissCount());
+        assertEquals(before.getHitCount() + 1, after.getHitCount());
+    }
+
+    @Test
+    public void testOfPatternEvicts() {
+        final int capacity = TimePeriodFormat.getCacheStatistics().getCapacity();
+        final long evictionsBefore = TimePeriodFormat.getCacheStatistics().getEvictionCount();
+        for (int i = 0; i < capacity + 10; i++) {
+            TimePeriodFormat.ofPattern(String.format("'evict %d' mm:ss", i));
+        }
+        final TimePeriodFormat.CacheStatistics after = TimePeriodFormat.getCacheStatistics();
+        assertTrue(after.getSize() <= capacity);
+        assertTrue(after.getEvictionCount() >= evictionsBefore + 10);
+    }
+
+    @Test
+    public void testCacheCapacityProperty() {
+        assertEquals(256, TimePeriodFormat.checkCacheCapacity(null));
+        assertEquals(256, TimePeriodFormat.checkCacheCapacity(0));
+        assertEquals(256, TimePeriodFormat.checkCacheCapacity(-5));
+        assertEquals(1, TimePeriodFormat.checkCacheCapacity(1));
+        assertEquals(1000, TimePeriodFormat.checkCacheCapacity(1000));
+    }
+
+    @Test
+    public void testParseWithParsePosition() {
+        final StringBuilder line = new StringBuilder("GET /index 200 01:47:32.134 bytes=512");
+        final ParsePosition position = new ParsePosition(15);
+        final TimePeriod t = FULL_TIMESTAMP.parse(line, position);
+        assertEquals(27, position.getIndex());
+        assertEquals(-1, position.getErrorIndex());
+        assertEquals(1, t.getHours());
+        assertEquals(47, t.getMinutes());
+        assertEquals(32, t.getSeconds());
+        assertEquals(134, t.getMilliseconds());
+
+        final ParsePosition badPosition = new ParsePosition(4);
+        assertEquals(null, FULL_TIMESTAMP.parse(CharBuffer.wrap(line), badPosition));
+        assertEquals(4, badPosition.getIndex());
+        assertEquals(4, badPosition.getErrorIndex());
+    }
+
+    @Test
+    public void testTryParse() {
+        final TimePeriodFormat format = new TimePeriodFormat("hh:mm:ss");
+        final ParseResult result = new ParseResult();
+
+        assertEquals(true, format.tryParse("01:02:03", result));
+        assertTrue(result.isSuccess());
+        assertEquals(null, result.getError());
+        assertEquals(-1, result.getErrorIndex());
+        assertEquals(8, result.getEndIndex());
+        assertEquals(3723000, result.toMillis());
+        final TimePeriod timePeriod = result.toTimePeriod();
+        assertEquals(2, timePeriod.getMinutes());
+
+        assertEquals(false, format.tryParse("01:0x:03", result));
+        assertEquals(ParseError.NON_NUMERIC_TOKEN_NOT_FOUND, result.getError());
+        assertEquals(4, result.getErrorIndex());
+        assertEquals(false, format.tryParse("01:02:03 ", result));
+        assertEquals(ParseError.EXTRA_CHARACTERS, result.getError());
+        assertEquals(8, result.getErrorIndex());
+        try {
+            result.toTimePeriod();
+            fail();
+        } catch (final IllegalStateException ise) {
+            // expected
+        }
+
+        // the same result can be reused after a failure, and the earlier TimePeriod is unaffected
+        assertEquals(true, format.tryParse("10:20:30", result));
+        assertEquals(20, result.toTimePeriod().getMinutes());
+        assertEquals(2, timePeriod.getMinutes());
+    }
+
+    @Test
+    public void testFormatAll() throws IOException {
+        final TimePeriodFormat format = new TimePeriodFormat("h:mm");
+        final TimePeriod[] timePeriods = {new TimePeriod(5, TimeUnit.MINUTE), new TimePeriod(90, TimeUnit.MINUTE),
+            new TimePeriod(0, TimeUnit.MINUTE)};
+        assertEquals("0:05,1:30,0:00", format.formatAll(timePeriods, ",", new StringBuilder()).toString());
+        assertEquals("0:05\n1:30\n0:00", format.formatAll(Arrays.asList(timePeriods), "\n",
+            new StringBuilder()).toString());
+        assertEquals("0:05 | 1:30", format.formatAllMillis(new long[] {300000, 5400000}, " | ",
+            new StringBuilder()).toString());
+        assertEquals("", format.formatAll(new TimePeriod[0], ",", new StringBuilder()).toString());
+        final StringWriter writer = new StringWriter();
+        format.formatAll(timePeriods, ";", writer);
+        assertEquals("0:05;1:30;0:00", writer.toString());
+    }
+
+    @Test
+    public void testFormatAllParallel() throws IOException {
+        final TimePeriodFormat format = TimePeriodFormat.ofPattern("hh:mm:ss.zzz");
+        // enough elements for several chunks, with a partial last chunk
+        final int count = TimePeriodFormat.parallelChunkSize * 3 + 17;
+        final long[] milliseconds = new long[count];
+        final TimePeriod[] timePeriods = new TimePeriod[count];
+        for (int i = 0; i < count; i++) {
+            milliseconds[i] = i * 7919L;
+            timePeriods[i] = new TimePeriod(milliseconds[i], TimeUnit.MILLISECOND);
+        }
+        final String expected = format.formatAllMillis(milliseconds, "\n", new StringBuilder()).toString();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, format.formatAllMillisParallel(milliseconds, "\n", new StringBuilder(),
+                pool).toString());
+            assertEquals(expected, format.formatAllParallel(timePeriods, "\n", new StringBuilder(), pool).toString());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(count - 1, expected.chars().filter((final int c) -> c == '\n').count());
+        assertEquals("00:00:07.919,00:00:15.838", format.formatAllMillisParallel(new long[] {7919, 15838}, ",",
+            new StringBuilder(), ForkJoinPool.commonPool()).toString());
+    }
+
+    @Test
+    public void testLocalizedFormat() throws ParseException {
+        final TimePeriodFormat german = new TimePeriodFormat("h HH, m MM", Locale.GERMAN);
+        assertEquals(Locale.GERMAN, german.getLocale());
+        assertEquals("1 Stunde, 30 Minuten", german.format(new TimePeriod(90, TimeUnit.MINUTE)));
+        assertEquals("2 Stunden, 1 Minute", german.freeze().format(new TimePeriod(121, TimeUnit.MINUTE)));
+        assertEquals(150 * 60 * 1000L, german.parse("2 Stunden, 30 Minuten").toMillis());
+        try {
+            german.parse("2 hours, 30 minutes");
+            fail();
+        } catch (final ParseException pe) {
+            // expected
+        }
+
+        final TimePeriodFormat french = new TimePeriodFormat("hH mmM", Locale.FRENCH);
+        assertEquals("1h 05min", french.format(new TimePeriod(65, TimeUnit.MINUTE)));
+        assertEquals(65 * 60 * 1000L, french.parse("1h 05min").toMillis());
+
+        assertEquals("3 d\u00edas", new TimePeriodFormat("d DD", new Locale("es")).format(
+            new TimePeriod(3, TimeUnit.DAY)));
+        // no names of its own: English
+        assertEquals("3 days", new TimePeriodFormat("d DD", Locale.KOREAN).format(new TimePeriod(3, TimeUnit.DAY)));
+        assertEquals(Locale.ENGLISH, new TimePeriodFormat("d DD").getLocale());
+    }
+
+    @Test
+    public void testParseWeeksWithoutMaxUnit() throws ParseException {
+        // weeks have no normalized max, so they're read until the first non-digit
+        final TimePeriod timePeriod = new TimePeriodFormat("w'w' d'd'").parse("123w 4d");
+        assertEquals(123, timePeriod.getWeeks());
+        assertEquals(4, timePeriod.getDays());
+        assertEquals("12w 3d", new TimePeriodFormat("w'w' d'd'").format(new TimePeriod(12, 3, 0, 0, 0, 0)));
+    }
+
+    @Test
+    public void testParseFieldsTooLongTogether() {
+        final TimePeriodFormat format = new TimePeriodFormat("w:d").setMaxUnit(TimeUnit.DAY);
+        final ParseResult result = new ParseResult();
+        // each number fits in a long, but the days carried into weeks don't
+        assertEquals(false, format.tryParse("9223372036854775807:7", result));
+        assertEquals(ParseError.NUMERIC_TOKEN_TOO_LARGE, result.getError());
+        assertEquals(0, result.getErrorIndex());
+    }
 }
@@ -0,0 +1,145 @@
+package com.adashrod.timeperiod;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.adashrod.timeperiod.TimeUnit.MILLISECOND;
+import static com.adashrod.timeperiod.TimeUnit.SECOND;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for the TimePeriodHistogram class
+ */
+public class TimePeriodHistogramTests {
+    @Test
+    public void testPercentiles() {
+        final TimePeriodHistogram histogram = new TimePeriodHistogram(MILLISECOND, 7);
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100000, histogram.getTotalCount());
+        assertEquals(1, histogram.getMinValue());
+        assertEquals(100000, histogram.getMaxValue());
+        assertWithin(50000, histogram.getValueAtPercentile(50), 7);
+        assertWithin(99000, histogram.getValueAtPercentile(99), 7);
+        assertWithin(99900, histogram.getValueAtPercentile(99.9), 7);
+        assertEquals(100000, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+
+        final TimePeriod p50 = histogram.getPercentile(50);
+        assertEquals(50, p50.getSeconds());
+        assertEquals("1:40.000", new TimePeriodFormat("m:ss.zzz").format(histogram.getMax()));
+    }
+
+    @Test
+    public void testBuckets() {
+        final TimePeriodHistogram histogram = new TimePeriodHistogram(MILLISECOND, 4);
+        // values below 2^precisionBits are exact
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i, histogram.indexOf(i));
+            assertEquals(i, histogram.highestEquivalentValue(i));
+        }
+        long previousIndex = 15;
+        for (long value = 16; value < 1 << 20; value++) {
+            final int index = histogram.indexOf(value);
+            assertTrue(index == previousIndex || index == previousIndex + 1);
+            assertTrue(histogram.highestEquivalentValue(index) >= value);
+            assertTrue(histogram.highestEquivalentValue(index) - value <= value >> 4);
+            previousIndex = index;
+        }
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testAddAndReset() {
+        final TimePeriodHistogram a = new TimePeriodHistogram(SECOND, 3);
+        final TimePeriodHistogram b = new TimePeriodHistogram(SECOND, 3);
+        a.record(1, 90);
+        b.record(new TimePeriod(0, 0, 1, 0, 0, 999));
+        b.record(7, 9);
+        a.add(b);
+        assertEquals(100, a.getTotalCount());
+        assertEquals(1, a.getValueAtPercentile(90));
+        assertEquals(7, a.getValueAtPercentile(99));
+        assertEquals(3600, a.getValueAtPercentile(100));
+        assertEquals(1, a.getMax().getHours());
+        a.reset();
+        assertEquals(0, a.getTotalCount());
+        assertEquals(0, a.getValueAtPercentile(50));
+        assertEquals(0, a.getMaxValue());
+        try {
+            a.add(new TimePeriodHistogram(MILLISECOND, 3));
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testZeroCountIsIgnored() {
+        final TimePeriodHistogram histogram = new TimePeriodHistogram(MILLISECOND, 3);
+        histogram.record(5, 1);
+        histogram.record(1, 0);
+        histogram.record(9, 0);
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(5, histogram.getMinValue());
+        assertEquals(5, histogram.getMaxValue());
+        final TimePeriodHistogram merged = new TimePeriodHistogram(MILLISECOND, 3);
+        merged.add(histogram);
+        assertEquals(5, merged.getMinValue());
+        assertEquals(5, merged.getMaxValue());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final TimePeriodHistogram histogram = new TimePeriodHistogram(MILLISECOND, 7);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    histogram.record(j % 100);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread: threads) {
+            thread.join();
+        }
+        assertEquals(80000, histogram.getTotalCount());
+        assertEquals(49, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getMaxValue());
+    }
+
+    @Test
+    public void testErrors() {
+        try {
+            new TimePeriodHistogram(MILLISECOND, 0);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        final TimePeriodHistogram histogram = new TimePeriodHistogram(MILLISECOND, 2);
+        try {
+            histogram.record(-1);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            histogram.getValueAtPercentile(100.1);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    private static void assertWithin(final long expected, final long actual, final int precisionBits) {
+        assertTrue(expected + " != " + actual, Math.abs(actual - expected) <= expected >> precisionBits);
+    }
+}
@@ -0,0 +1,126 @@
+package com.adashrod.timeperiod;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * unit tests for the TimePeriodMetrics class
+ */
+public class TimePeriodMetricsTests {
+    private static class RecordingListener implements TimePeriodMetrics.Listener {
+        private final List<String> events = new ArrayList<>();
+        private int timedCount;
+
+        @Override
+        public void formatted(final String pattern, final long nanos) {
+            record(nanos, "formatted " + pattern);
+        }
+
+        @Override
+        public void parsed(final String pattern, final long nanos) {
+            record(nanos, "parsed " + pattern);
+        }
+
+        @Override
+        public void parseFailed(final String pattern, final ParseError error, final int errorIndex, final long nanos) {
+            record(nanos, String.format("failed %s %s %d", pattern, error, errorIndex));
+        }
+
+        private void record(final long nanos, final String event) {
+            events.add(event);
+            if (nanos >= 0) {
+                timedCount++;
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        TimePeriodMetrics.setListener(null);
+    }
+
+    @Test
+    public void testReporting() {
+        final RecordingListener listener = new RecordingListener();
+        TimePeriodMetrics.setListener(listener);
+        final TimePeriodFormat format = TimePeriodFormat.ofPattern("hh:mm");
+        assertEquals("hh:mm", format.toPattern());
+
+        format.format(new TimePeriod(90, TimeUnit.MINUTE));
+        format.formatMillis(1000);
+        try {
+            format.parse("01:30");
+            format.parse("01:30:00");
+            fail();
+        } catch (final ParseException pe) {
+            assertEquals(ParseError.EXTRA_CHARACTERS.getMessage(), pe.getMessage());
+        }
+        format.parse("xx01:30", new ParsePosition(2));
+        final TimePeriod failed = format.parse("01-30", new ParsePosition(0));
+        assertNull(failed);
+        try {
+            TimePeriod.parseAsWords("3 fortnights");
+            fail();
+        } catch (final ParseException pe) {
+            assertEquals(2, pe.getErrorOffset());
+        }
+
+        final List<String> expected = new ArrayList<>();
+        expected.add("formatted hh:mm");
+        expected.add("formatted hh:mm");
+        expected.add("parsed hh:mm");
+        expected.add("failed hh:mm EXTRA_CHARACTERS 5");
+        expected.add("parsed hh:mm");
+        expected.add("failed hh:mm NON_NUMERIC_TOKEN_NOT_FOUND 2");
+        expected.add("failed null NOT_TIME_UNITS 2");
+        assertEquals(expected, listener.events);
+        assertEquals(expected.size(), listener.timedCount);
+    }
+
+    @Test
+    public void testFormatSetReporting() throws ParseException {
+        final RecordingListener listener = new RecordingListener();
+        TimePeriodMetrics.setListener(listener);
+        final TimePeriodFormatSet formatSet = TimePeriodFormatSet.ofPatterns("hh:mm:ss", "d'd' h'h'");
+
+        formatSet.parse("3d 4h");
+        assertEquals(-1, formatSet.tryParse("3d 4h ago", new ParseResult()));
+
+        final List<String> expected = new ArrayList<>();
+        expected.add("parsed d'd' h'h'");
+        expected.add("failed null EXTRA_CHARACTERS 5");
+        assertEquals(expected, listener.events);
+    }
+
+    @Test
+    public void testSampling() throws ParseException {
+        final RecordingListener listener = new RecordingListener();
+        TimePeriodMetrics.setListener(listener, 1000000);
+        for (int i = 0; i < 100; i++) {
+            TimePeriod.parseAsWords("5 minutes");
+        }
+        // every call is counted, but few are timed
+        assertEquals(100, listener.events.size());
+        assertTrue(listener.timedCount < 10);
+
+        TimePeriodMetrics.setListener(null);
+        TimePeriod.parseAsWords("5 minutes");
+        assertEquals(100, listener.events.size());
+        try {
+            TimePeriodMetrics.setListener(listener, 0);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+}
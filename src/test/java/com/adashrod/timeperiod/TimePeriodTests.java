@@ -1,14 +1,22 @@
 package com.adashrod.timeperiod;
 
-import javafx.util.Pair;
 import org.junit.Test;
 
 import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.Duration;
+import java.util.Locale;
 
 import static com.adashrod.timeperiod.TimeUnit.DAY;
 import static com.adashrod.timeperiod.TimeUnit.HOUR;
+import static com.adashrod.timeperiod.TimeUnit.MILLISECOND;
+import static com.adashrod.timeperiod.TimeUnit.MINUTE;
+import static com.adashrod.timeperiod.TimeUnit.SECOND;
 import static com.adashrod.timeperiod.TimeUnit.WEEK;
-import static junit.framework.Assert.assertEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
 * unit tests for the TimePeriod class
@@ -18,30 +26,51 @@ public class TimePeriodTests {
     public void testGetLargestUnit() {
         final TimePeriod t1 = new TimePeriod(2, WEEK);
 
-        final Pair<Long, TimeUnit> t1InWeeks = t1.getLargestUnit(WEEK);
-        final Pair<Long, TimeUnit> t1InDays = t1.getLargestUnit(DAY);
-        final Pair<Long, TimeUnit> t1InHours = t1.getLargestUnit(HOUR);
+        final UnitQuantity t1InWeeks = t1.getLargestUnit(WEEK);
+        final UnitQuantity t1InDays = t1.getLargestUnit(DAY);
+        final UnitQuantity t1InHours = t1.getLargestUnit(HOUR);
 
-        assertEquals(2, (long) t1InWeeks.getKey());
-        assertEquals(WEEK, t1InWeeks.getValue());
-        assertEquals(14, (long) t1InDays.getKey());
-        assertEquals(DAY, t1InDays.getValue());
-        assertEquals(336, (long) t1InHours.getKey());
-        assertEquals(HOUR, t1InHours.getValue());
+        assertEquals(2, t1InWeeks.getAmount());
+        assertEquals(WEEK, t1InWeeks.getUnit());
+        assertEquals(14, t1InDays.getAmount());
+        assertEquals(DAY, t1InDays.getUnit());
+        assertEquals(336, t1InHours.getAmount());
+        assertEquals(HOUR, t1InHours.getUnit());
 
         final TimePeriod t2 = new TimePeriod();
         t2.setWeeks(0).setDays(3).setHours(5).setMinutes(0).setSeconds(0);
 
-        final Pair<Long, TimeUnit> t2InWeeks = t2.getLargestUnit(WEEK);
-        final Pair<Long, TimeUnit> t2InDays = t2.getLargestUnit(DAY);
-        final Pair<Long, TimeUnit> t2InHours = t2.getLargestUnit(HOUR);
+        final UnitQuantity t2InWeeks = t2.getLargestUnit(WEEK);
+        final UnitQuantity t2InDays = t2.getLargestUnit(DAY);
+        final UnitQuantity t2InHours = t2.getLargestUnit(HOUR);
 
-        assertEquals(77, (long) t2InWeeks.getKey());
-        assertEquals(HOUR, t2InWeeks.getValue());
-        assertEquals(77, (long) t2InDays.getKey());
-        assertEquals(HOUR, t2InDays.getValue());
-        assertEquals(77, (long) t2InHours.getKey());
-        assertEquals(HOUR, t2InHours.getValue());
+        assertEquals(77, t2InWeeks.getAmount());
+        assertEquals(HOUR, t2InWeeks.getUnit());
+        assertEquals(77, t2InDays.getAmount());
+        assertEquals(HOUR, t2InDays.getUnit());
+        assertEquals(77, t2InHours.getAmount());
+        assertEquals(HOUR, t2InHours.getUnit());
+    }
+
+    @Test
+    public void testGetLargestUnitMilliseconds() {
+        final TimePeriod timePeriod = new TimePeriod(0, 0, 0, 1, 2, 500);
+        final UnitQuantity result = new UnitQuantity();
+
+        final UnitQuantity returned = timePeriod.getLargestUnit(WEEK, result);
+        assertSame(returned, result);
+        assertEquals(62500, result.getAmount());
+        assertEquals(MILLISECOND, result.getUnit());
+
+        timePeriod.setMilliseconds(0);
+        timePeriod.getLargestUnit(WEEK, result);
+        assertEquals(62, result.getAmount());
+        assertEquals(SECOND, result.getUnit());
+
+        // the TimePeriod is not modified
+        assertEquals(1, timePeriod.getMinutes());
+        assertEquals(2, timePeriod.getSeconds());
+        assertEquals(new UnitQuantity(62, SECOND), timePeriod.getLargestUnit(SECOND));
     }
 
     @Test
@@ -75,7 +104,7 @@ public class TimePeriodTests {
             assertEquals(4, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -86,7 +115,7 @@ public class TimePeriodTests {
             assertEquals(5, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
     }
 
     @Test
@@ -97,7 +126,70 @@ public class TimePeriodTests {
             assertEquals(3, pe.getErrorOffset());
             return;
         }
-        assert false;
+        fail();
+    }
+
+    @Test
+    public void testParseAbbreviationsAndCase() throws ParseException {
+        final TimePeriod t1 = TimePeriod.parseAsWords("90m");
+        assertEquals(1, t1.getHours());
+        assertEquals(30, t1.getMinutes());
+        final TimePeriod t2 = TimePeriod.parseAsWords("1500 MS");
+        assertEquals(1, t2.getSeconds());
+        assertEquals(500, t2.getMilliseconds());
+        final TimePeriod t3 = TimePeriod.parseAsWords("3 Days");
+        assertEquals(3, t3.getDays());
+    }
+
+    @Test
+    public void testParseCompound() throws ParseException {
+        final TimePeriod t = TimePeriod.parseAsWords("2 weeks 3 days 4h 30 minutes 1s 5 ms");
+        assertEquals(2, t.getWeeks());
+        assertEquals(3, t.getDays());
+        assertEquals(4, t.getHours());
+        assertEquals(30, t.getMinutes());
+        assertEquals(1, t.getSeconds());
+        assertEquals(5, t.getMilliseconds());
+        final TimePeriod t2 = TimePeriod.parseAsWords("1h30m 45 minutes");
+        assertEquals(2, t2.getHours());
+        assertEquals(15, t2.getMinutes());
+    }
+
+    @Test
+    public void testParseCompoundBad() {
+        try {
+            TimePeriod.parseAsWords("2 weeks 3 daze");
+        } catch (final ParseException pe) {
+            assertEquals(12, pe.getErrorOffset());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void testParseMissingNumber() {
+        try {
+            TimePeriod.parseAsWords("2 weeks days");
+        } catch (final ParseException pe) {
+            assertEquals(8, pe.getErrorOffset());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void testParseWithParsePosition() {
+        final String line = "job=42, took 1 hour 5 minutes, then exited";
+        final ParsePosition position = new ParsePosition(13);
+        final TimePeriod t = TimePeriod.parseAsWords(line, position);
+        assertEquals(29, position.getIndex());
+        assertEquals(1, t.getHours());
+        assertEquals(5, t.getMinutes());
+
+        final ParsePosition badPosition = new ParsePosition(0);
+        assertEquals(null, TimePeriod.parseAsWords(line, badPosition));
+        assertEquals(0, badPosition.getIndex());
+        assertEquals(0, badPosition.getErrorIndex());
     }
 
     @Test
@@ -106,4 +198,318 @@ public class TimePeriodTests {
         assertEquals(2, t.getDays());
         assertEquals(1, t.getHours());
     }
+
+    @Test
+    public void testPlusAndMinus() {
+        final TimePeriod a = new TimePeriod(0, 6, 23, 59, 59, 999);
+        final TimePeriod sum = a.plus(1, MILLISECOND);
+        assertEquals(1, sum.getWeeks());
+        assertEquals(0, sum.getDays());
+        assertEquals(0, sum.getMilliseconds());
+        // plus doesn't modify this
+        assertEquals(999, a.getMilliseconds());
+
+        final TimePeriod difference = sum.minus(new TimePeriod(0, 0, 0, 0, 0, 2));
+        assertEquals(6, difference.getDays());
+        assertEquals(23, difference.getHours());
+        assertEquals(998, difference.getMilliseconds());
+        assertEquals(0, sum.minus(sum).compareTo(new TimePeriod()));
+        assertEquals(5, a.plus(a).minus(a).minus(1, DAY).getDays());
+        try {
+            a.minus(sum);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        try {
+            new TimePeriod(Long.MAX_VALUE, WEEK).plus(7, DAY);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAddInPlace() {
+        final TimePeriod total = new TimePeriod();
+        final TimePeriod step = new TimePeriod(0, 0, 0, 0, 1, 500);
+        for (int i = 0; i < 100; i++) {
+            total.addInPlace(step);
+        }
+        total.addInPlace(50, HOUR);
+        assertEquals(2, total.getDays());
+        assertEquals(2, total.getHours());
+        assertEquals(2, total.getMinutes());
+        assertEquals(30, total.getSeconds());
+        assertEquals(0, total.getMilliseconds());
+        try {
+            total.addInPlace(-1, HOUR);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAddInPlaceOverflowLeavesReceiverUnchanged() {
+        final TimePeriod total = new TimePeriod(Long.MAX_VALUE, 6, 23, 0, 0, 0);
+        try {
+            // days and hours carry into weeks, which overflows while normalizing
+            total.addInPlace(new TimePeriod(0, 0, 2, 0, 0, 0));
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        try {
+            total.addInPlace(new TimePeriod(1, 0, 0, 0, 0, 0));
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        try {
+            total.addInPlace(60, MINUTE);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        assertEquals(Long.MAX_VALUE, total.getWeeks());
+        assertEquals(6, total.getDays());
+        assertEquals(23, total.getHours());
+        assertEquals(0, total.getMinutes());
+        assertEquals(0, total.getSeconds());
+        assertEquals(0, total.getMilliseconds());
+    }
+
+    @Test
+    public void testMultiplyAndDivide() {
+        final TimePeriod t = new TimePeriod(0, 0, 1, 30, 0, 0);
+        final TimePeriod product = t.multipliedBy(20);
+        assertEquals(1, product.getDays());
+        assertEquals(6, product.getHours());
+        assertEquals(0, product.getMinutes());
+        final TimePeriod quotient = t.dividedBy(7);
+        assertEquals(12, quotient.getMinutes());
+        assertEquals(51, quotient.getSeconds());
+        assertEquals(428, quotient.getMilliseconds());
+        assertEquals(0, t.multipliedBy(0).compareTo(new TimePeriod()));
+
+        // periods too long for a long of milliseconds are still exact
+        final TimePeriod huge = new TimePeriod(Long.MAX_VALUE / 4, WEEK).multipliedBy(2).plus(3, DAY);
+        assertEquals(Long.MAX_VALUE / 4 * 2, huge.getWeeks());
+        final TimePeriod halved = huge.dividedBy(2);
+        assertEquals(Long.MAX_VALUE / 4, halved.getWeeks());
+        assertEquals(1, halved.getDays());
+        assertEquals(12, halved.getHours());
+        try {
+            huge.multipliedBy(3);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        try {
+            t.dividedBy(0);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCompareTo() {
+        final TimePeriod a = new TimePeriod(90, TimeUnit.MINUTE);
+        final TimePeriod b = new TimePeriod(0, 0, 1, 30, 0, 0);
+        final TimePeriod c = new TimePeriod(0, 0, 1, 30, 0, 1);
+        assertEquals(0, a.compareTo(b));
+        assertTrue(a.compareTo(c) < 0);
+        assertTrue(c.compareTo(a) > 0);
+        assertTrue(new TimePeriod(1, WEEK).compareTo(new TimePeriod(6, DAY)) > 0);
+    }
+
+    @Test
+    public void testJdkConversions() {
+        final TimePeriod t = new TimePeriod(1, 2, 3, 4, 5, 6);
+        final long millis = ((((7L + 2) * 24 + 3) * 60 + 4) * 60 + 5) * 1000 + 6;
+        assertEquals(millis, t.toMillis());
+        assertEquals(millis * 1_000_000, t.toNanos());
+        assertEquals(millis * 1000, t.to(java.util.concurrent.TimeUnit.MICROSECONDS));
+        assertEquals(millis / 1000, t.to(java.util.concurrent.TimeUnit.SECONDS));
+        assertEquals(millis / 60_000, t.to(java.util.concurrent.TimeUnit.MINUTES));
+        assertEquals(219, t.to(java.util.concurrent.TimeUnit.HOURS));
+        assertEquals(9, t.to(java.util.concurrent.TimeUnit.DAYS));
+
+        final Duration duration = t.toDuration();
+        assertEquals(Duration.ofMillis(millis), duration);
+        assertEquals(0, TimePeriod.from(duration).compareTo(t));
+        final TimePeriod fromNanos = TimePeriod.from(Duration.ofNanos(1_999_999_999));
+        assertEquals(1, fromNanos.getSeconds());
+        assertEquals(999, fromNanos.getMilliseconds());
+
+        // too long for nanoseconds, but not for a Duration
+        final TimePeriod longPeriod = new TimePeriod(1000L * 52, WEEK);
+        assertEquals(1000L * 52 * 7 * 24 * 60 * 60, longPeriod.toDuration().getSeconds());
+        try {
+            longPeriod.toNanos();
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+        try {
+            TimePeriod.from(Duration.ofSeconds(-1));
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTryParseAsWords() {
+        final ParseResult result = new ParseResult();
+        assertEquals(true, TimePeriod.tryParseAsWords("1 hour 30 minutes  ", result));
+        assertEquals(90 * 60 * 1000, result.toMillis());
+        assertEquals(17, result.getEndIndex());
+
+        assertEquals(false, TimePeriod.tryParseAsWords("1 hour 30 mintues", result));
+        assertEquals(ParseError.UNRECOGNIZED_UNITS, result.getError());
+        assertEquals(13, result.getErrorIndex());
+        assertEquals(false, TimePeriod.tryParseAsWords("1 hour and 30 minutes", result));
+        assertEquals(ParseError.NOT_TIME_UNITS, result.getError());
+        assertEquals(7, result.getErrorIndex());
+        assertEquals(false, TimePeriod.tryParseAsWords("99999999999999999999 hours", result));
+        assertEquals(ParseError.NUMBER_TOO_LARGE, result.getError());
+    }
+
+    @Test
+    public void testParseAsWordsLocalized() throws ParseException {
+        assertEquals(150 * 60 * 1000L, TimePeriod.parseAsWords("2 Stunden 30 Minuten", Locale.GERMAN).toMillis());
+        assertEquals((7 + 1) * 24 * 60 * 60 * 1000L,
+            TimePeriod.parseAsWords("1 Wo. 1 Tag", Locale.GERMANY).toMillis());
+        // abbreviations are accepted with or without their period
+        assertEquals(2 * 60 * 60 * 1000L, TimePeriod.parseAsWords("2 Std", Locale.GERMAN).toMillis());
+        assertEquals((2 * 60 + 30) * 60 * 1000L, TimePeriod.parseAsWords("2 Std. 30 Min", Locale.GERMAN).toMillis());
+        assertEquals((30 * 60 + 5) * 1000L, TimePeriod.parseAsWords("30 Min 5 Sek", Locale.GERMAN).toMillis());
+        assertEquals(30 * 60 * 1000L, TimePeriod.parseAsWords("30 Minuten", Locale.GERMAN).toMillis());
+        assertEquals(61 * 1000L, TimePeriod.parseAsWords("1 MINUTE 1 seconde", Locale.FRENCH).toMillis());
+        assertEquals(2 * 24 * 60 * 60 * 1000L, TimePeriod.parseAsWords("2 d\u00edas", new Locale("es")).toMillis());
+
+        final ParseResult result = new ParseResult();
+        assertEquals(false, TimePeriod.tryParseAsWords("2 hours", Locale.GERMAN, result));
+        assertEquals(ParseError.NOT_TIME_UNITS, result.getError());
+        // no names of its own: English
+        assertEquals(true, TimePeriod.tryParseAsWords("2 hours", Locale.CHINESE, result));
+        assertEquals(2 * 60 * 60 * 1000L, result.toMillis());
+    }
+
+    @Test
+    public void testBuilder() {
+        final TimePeriod.Builder builder = TimePeriod.builder().setHours(25).setMinutes(90).set(1, WEEK);
+        final TimePeriod timePeriod = builder.build();
+        assertEquals(1, timePeriod.getWeeks());
+        assertEquals(1, timePeriod.getDays());
+        assertEquals(2, timePeriod.getHours());
+        assertEquals(30, timePeriod.getMinutes());
+        // a builder can be reused
+        assertEquals(((7 + 1) * 24 * 60 + 2 * 60 + 30) * 60 * 1000L + 5, builder.setMilliseconds(5).build().toMillis());
+        try {
+            TimePeriod.builder().setDays(-1);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+        try {
+            TimePeriod.builder().setWeeks(Long.MAX_VALUE).setDays(7).build();
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBulkSet() {
+        final TimePeriod timePeriod = new TimePeriod(3, DAY);
+        assertEquals(timePeriod, timePeriod.set(0, 0, 0, 0, 61, 1500));
+        assertEquals(0, timePeriod.getDays());
+        assertEquals(1, timePeriod.getMinutes());
+        assertEquals(2, timePeriod.getSeconds());
+        assertEquals(500, timePeriod.getMilliseconds());
+        try {
+            timePeriod.set(0, 0, -1, 0, 0, 0);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSetWeeksNormalizes() {
+        final TimePeriod timePeriod = new TimePeriod(10, DAY).setWeeks(2);
+        assertEquals(2, timePeriod.getWeeks());
+        assertEquals(3, timePeriod.getDays());
+        assertEquals((2 * 7 + 3) * 24 * 60 * 60 * 1000L, timePeriod.toMillis());
+    }
+
+    @Test
+    public void testParseAsWordsErrorOffsets() throws ParseException {
+        final Object[][] failures = {
+            {"2", 1},
+            {"2 ", 2},
+            {" 2 days", 0},
+            {"days", 0},
+        };
+        for (final Object[] failure: failures) {
+            try {
+                TimePeriod.parseAsWords((String) failure[0]);
+                fail();
+            } catch (final ParseException pe) {
+                assertEquals((String) failure[0], ParseError.NOT_TIME_UNITS.getMessage(), pe.getMessage());
+                assertEquals((String) failure[0], failure[1], pe.getErrorOffset());
+            }
+        }
+        assertEquals(2 * 24 * 60 * 60 * 1000L, TimePeriod.parseAsWords("2 days ").toMillis());
+    }
+
+    @Test
+    public void testJdkConversionsAtTargetScale() {
+        // the length in seconds doesn't fit in a long, but the length in days does
+        final long weeks = Long.MAX_VALUE / 7 - 1;
+        final TimePeriod timePeriod = new TimePeriod(weeks, 6, 23, 59, 59, 999);
+        assertEquals(weeks * 7 + 6, timePeriod.to(java.util.concurrent.TimeUnit.DAYS));
+        try {
+            timePeriod.to(java.util.concurrent.TimeUnit.HOURS);
+            fail();
+        } catch (final ArithmeticException ae) {
+            // expected
+        }
+
+        // converting doesn't normalize
+        final TimePeriod denormalized = new TimePeriod(0, 1, 1, 30, 59, 1500).denormalize(MILLISECOND);
+        final long milliseconds = denormalized.getDenormalizedMilliseconds();
+        assertEquals(25 * 60 + 31, denormalized.to(java.util.concurrent.TimeUnit.MINUTES));
+        assertEquals(25, denormalized.to(java.util.concurrent.TimeUnit.HOURS));
+        assertEquals(Duration.ofMillis(milliseconds), denormalized.toDuration());
+        assertEquals(milliseconds, denormalized.getDenormalizedMilliseconds());
+        assertEquals(0, denormalized.getDenormalizedHours());
+    }
+
+    @Test
+    public void testCompareToAndMinusDoNotNormalize() {
+        final TimePeriod hours = new TimePeriod(1, 2, 3, 0, 0, 0).denormalize(HOUR);
+        final TimePeriod milliseconds = new TimePeriod(0, 9, 0, 0, 0, 1).denormalize(MILLISECOND);
+        assertEquals(219, hours.getDenormalizedHours());
+        assertEquals(9 * 24 * 60 * 60 * 1000L + 1, milliseconds.getDenormalizedMilliseconds());
+
+        assertEquals(true, hours.compareTo(milliseconds) > 0);
+        assertEquals(true, milliseconds.compareTo(hours) < 0);
+        assertEquals(0, hours.compareTo(new TimePeriod(219, HOUR)));
+        final TimePeriod difference = hours.minus(milliseconds);
+        assertEquals(0, difference.getDays());
+        assertEquals(2, difference.getHours());
+        assertEquals(59, difference.getMinutes());
+        assertEquals(999, difference.getMilliseconds());
+
+        // neither operand was normalized
+        assertEquals(219, hours.getDenormalizedHours());
+        assertEquals(0, hours.getDenormalizedDays());
+        assertEquals(9 * 24 * 60 * 60 * 1000L + 1, milliseconds.getDenormalizedMilliseconds());
+        assertEquals(0, milliseconds.getDenormalizedSeconds());
+    }
 }
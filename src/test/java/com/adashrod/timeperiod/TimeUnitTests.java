@@ -2,12 +2,16 @@ package com.adashrod.timeperiod;
 
 import org.junit.Test;
 
-import static com.adashrod.timeperiod.TimeUnit.WEEK;
+import java.util.Locale;
+
 import static com.adashrod.timeperiod.TimeUnit.DAY;
 import static com.adashrod.timeperiod.TimeUnit.HOUR;
 import static com.adashrod.timeperiod.TimeUnit.MINUTE;
 import static com.adashrod.timeperiod.TimeUnit.SECOND;
-import static junit.framework.Assert.assertEquals;
+import static com.adashrod.timeperiod.TimeUnit.WEEK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 public class TimeUnitTests {
     @Test
@@ -17,4 +21,46 @@ public class TimeUnitTests {
         assertEquals(HOUR, TimeUnit.min(HOUR, DAY));
         assertEquals(DAY, TimeUnit.min(DAY, WEEK));
     }
+
+    @Test
+    public void testConcurrentTimeUnit() {
+        for (final TimeUnit timeUnit: TimeUnit.values()) {
+            if (timeUnit != WEEK) {
+                assertEquals(timeUnit, TimeUnit.fromConcurrentTimeUnit(timeUnit.toConcurrentTimeUnit()));
+                assertEquals(timeUnit.getMillisecondsPerUnit(), timeUnit.toConcurrentTimeUnit().toMillis(1));
+            }
+        }
+        try {
+            WEEK.toConcurrentTimeUnit();
+            fail();
+        } catch (final UnsupportedOperationException uoe) {
+            // expected
+        }
+        try {
+            TimeUnit.fromConcurrentTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS);
+            fail();
+        } catch (final IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLocalizedNames() {
+        assertEquals("Stunde", HOUR.getSingularName(Locale.GERMAN));
+        assertEquals("Stunden", HOUR.getPluralName(Locale.GERMANY));
+        assertEquals("j", DAY.getAbbreviation(Locale.FRENCH));
+        assertEquals("d\u00edas", DAY.getPluralName(new Locale("es", "MX")));
+        // no names of its own: English
+        assertEquals("weeks", WEEK.getPluralName(Locale.JAPANESE));
+        assertEquals("s", SECOND.getAbbreviation(Locale.ROOT));
+        assertEquals(MINUTE.getSingularName(), MINUTE.getSingularName(Locale.US));
+    }
+
+    @Test
+    public void testUnitNamesAreShared() {
+        assertSame(UnitNames.english(), UnitNames.forLocale(Locale.UK));
+        assertSame(UnitNames.forLocale(Locale.GERMAN), UnitNames.forLocale(Locale.GERMAN));
+        // the trie is built on first use and then reused
+        assertSame(UnitNames.english().getTrie(), UnitNames.english().getTrie());
+    }
 }